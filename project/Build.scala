@@ -1,5 +1,6 @@
 import sbt._
 import Keys._
+import pl.project13.scala.sbt.JmhPlugin
 
 object ApplicationBuild extends Build {
 
@@ -24,7 +25,8 @@ object ApplicationBuild extends Build {
       publishLocal := {},
       publish := {}
     ).aggregate(
-      validationLib
+      validationLib,
+      validationBench
     )
 
   lazy val validationLib = Project(appName, base = file("validation-lib"))
@@ -45,4 +47,14 @@ object ApplicationBuild extends Build {
       publishArtifact in (Compile, packageDoc) := false,
       publishArtifact in packageDoc := false
     )
+
+  lazy val validationBench = Project(appName + "-bench", base = file("validation-bench"))
+    .settings(baseSettings: _*)
+    .settings(
+      libraryDependencies += "com.fasterxml.jackson.core" % "jackson-databind" % "2.7.3",
+      publishLocal := {},
+      publish := {}
+    )
+    .enablePlugins(JmhPlugin)
+    .dependsOn(validationLib)
 }
@@ -0,0 +1,81 @@
+package org.reactivecouchbase.validation.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.reactivecouchbase.validation.BulkValidator;
+import org.reactivecouchbase.validation.DocumentRule;
+import org.reactivecouchbase.validation.RuleSpec;
+
+import java.io.BufferedWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Throughput of {@link BulkValidator} on generated NDJSON (parsed with Jackson) and CSV files, for 1, 2, 4... threads
+ * up to the number of cores, with the peak heap used by each run.
+ *
+ * sbt "validation-lib-bench/runMain org.reactivecouchbase.validation.bench.BulkValidatorLoadTest [megabytes]"
+ */
+public class BulkValidatorLoadTest {
+
+    private static final String SPEC = "name: mandatory & maxLength(64); age: isInteger > betweenI(0, 150); email: email";
+
+    public static void main(String[] args) throws Exception {
+        int megabytes = args.length > 0 ? Integer.parseInt(args[0]) : 512;
+        DocumentRule rule = RuleSpec.defaults().compile(SPEC);
+        final ObjectMapper mapper = new ObjectMapper();
+        Path ndjson = Files.createTempFile("bulk", ".ndjson");
+        Path csv = Files.createTempFile("bulk", ".csv");
+        try {
+            generate(ndjson, csv, megabytes * 1024L * 1024L);
+            int cores = Runtime.getRuntime().availableProcessors();
+            for (int threads = 1; threads <= cores; threads = threads < cores ? Math.min(threads * 2, cores) : threads + 1) {
+                run("ndjson", threads, BulkValidator.<Map<String, Object>>builder(line -> mapper.readValue(new ByteBufferBackedInputStream(line), Map.class), rule), ndjson);
+                run("csv", threads, BulkValidator.csv(rule), csv);
+            }
+        } finally {
+            Files.deleteIfExists(ndjson);
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    private static void run(String format, int threads, BulkValidator.Builder<Map<String, Object>> builder, Path file) throws Exception {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+        BulkValidator.Report report = builder.parallelism(threads).build().validate(file);
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.println(String.format("%-8s threads %3d   %8.1f MB/s   records %10d   failures %8d   peak heap %6d MB",
+                format, threads, report.megabytesPerSecond(), report.records(), report.failures(), peakHeap / (1024 * 1024)));
+    }
+
+    private static void generate(Path ndjson, Path csv, long size) throws Exception {
+        Random random = new Random(42);
+        try (BufferedWriter json = Files.newBufferedWriter(ndjson, StandardCharsets.UTF_8);
+             BufferedWriter comma = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            comma.write("name,age,email\n");
+            long written = 0;
+            for (int i = 0; written < size; i++) {
+                String name = "user" + i;
+                int age = random.nextInt(1000) == 0 ? -1 : random.nextInt(100);
+                String email = random.nextInt(1000) == 0 ? "user" + i : "user" + i + "@example.com";
+                String line = "{\"name\":\"" + name + "\",\"age\":\"" + age + "\",\"email\":\"" + email + "\"}\n";
+                json.write(line);
+                comma.write(name + "," + age + "," + email + "\n");
+                written += line.length();
+            }
+        }
+    }
+}
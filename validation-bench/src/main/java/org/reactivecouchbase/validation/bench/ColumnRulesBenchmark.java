@@ -0,0 +1,67 @@
+package org.reactivecouchbase.validation.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.validation.DoubleColumnRule;
+import org.reactivecouchbase.validation.Rule;
+import org.reactivecouchbase.validation.Rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code Rules.list(Rules.betweenD(..))} over a boxed column against {@link DoubleColumnRule} over the primitive one.
+ *
+ * sbt "validation-lib-bench/jmh:run -prof gc ColumnRulesBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ColumnRulesBenchmark {
+
+    private static final int SIZE = 65536;
+
+    @Param({"0.0", "0.01"})
+    public double failureRate;
+
+    private double[] values;
+
+    private List<Double> boxedValues;
+
+    private final Rule<Iterable<Double>, List<Double>> boxed = Rules.list(Rules.betweenD(0.0, 100.0));
+
+    private final DoubleColumnRule column = DoubleColumnRule.builder().min(0.0).max(100.0).build();
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        values = new double[SIZE];
+        boxedValues = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = random.nextDouble() < failureRate ? -1.0 : random.nextDouble() * 100.0;
+            boxedValues.add(values[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int boxed() {
+        return boxed.validate(boxedValues).isSuccess() ? 0 : 1;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int column() {
+        return column.check(values).failureCount();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public int columnWithErrors() {
+        return column.check(values).errors().size();
+    }
+}
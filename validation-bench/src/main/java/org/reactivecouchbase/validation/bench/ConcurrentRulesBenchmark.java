@@ -0,0 +1,70 @@
+package org.reactivecouchbase.validation.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.validation.Paths;
+import org.reactivecouchbase.validation.Rule;
+import org.reactivecouchbase.validation.Rules;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule instances shared by every benchmark thread. Without shared mutable state nor contention, the throughput
+ * grows linearly with the number of threads (up to the number of physical cores), compare the results of:
+ *
+ * for t in 1 2 4 8; do sbt "validation-lib-bench/jmh:run -t $t ConcurrentRulesBenchmark"; done
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ConcurrentRulesBenchmark {
+
+    private final Rule<Integer, Integer> numbers = Rules.combine(Rules.minI(0), Rules.maxI(150), Rules.notNull());
+    private final Rule<String, String> email = Rules.email();
+    private final Rule<String, String> pattern = Rules.pattern("[a-z]+");
+    private final Rule<String, Date> date = Rules.date("yyyy-MM-dd");
+    private final Rule<Iterable<Integer>, List<Integer>> list = Rules.list(Rules.minI(0));
+    private final Rule<String, Integer> composed = Rules.isInteger().compose(Paths.Root.field("age"), Rules.minI(0)).repath("user");
+
+    private final List<Integer> ages = Arrays.asList(12, 42, 7, 99, 31, 64, 18, 27);
+
+    @Benchmark
+    public boolean numbers() {
+        return numbers.validate(42).isSuccess();
+    }
+
+    @Benchmark
+    public boolean email() {
+        return email.validate("john.doe@gmail.com").isSuccess();
+    }
+
+    @Benchmark
+    public boolean pattern() {
+        return pattern.validate("validation").isSuccess();
+    }
+
+    @Benchmark
+    public boolean date() {
+        return date.validate("2016-01-01").isSuccess();
+    }
+
+    @Benchmark
+    public boolean list() {
+        return list.validate(ages).isSuccess();
+    }
+
+    @Benchmark
+    public boolean composed() {
+        return composed.validate("42").isSuccess();
+    }
+
+    @Benchmark
+    public Paths.Path parse() {
+        return Paths.parse("users[2].address.street");
+    }
+}
@@ -0,0 +1,58 @@
+package org.reactivecouchbase.validation.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.validation.Paths;
+import org.reactivecouchbase.validation.ValidationError;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouping and rendering errors by path, the way error reports are built.
+ *
+ * sbt "validation-lib-bench/jmh:run -prof gc PathsBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PathsBenchmark {
+
+    private List<ValidationError> errors;
+
+    @Setup
+    public void setup() {
+        errors = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            errors.add(ValidationError.at(Paths.Root.field("users").atIndex(i % 100).field(i % 2 == 0 ? "name" : "email"), "error.invalid", "Invalid"));
+        }
+    }
+
+    @Benchmark
+    public int groupByPath() {
+        Map<Paths.Path, Integer> counts = new HashMap<>();
+        for (ValidationError error : errors) {
+            counts.merge(error.path, 1, Integer::sum);
+        }
+        return counts.size();
+    }
+
+    @Benchmark
+    public int renderPaths() {
+        int length = 0;
+        for (ValidationError error : errors) {
+            length += error.path.toString().length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public Paths.Path parse() {
+        return Paths.parse("users[42].address.street");
+    }
+}
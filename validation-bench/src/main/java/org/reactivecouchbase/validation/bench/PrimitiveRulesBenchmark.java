@@ -0,0 +1,66 @@
+package org.reactivecouchbase.validation.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.reactivecouchbase.validation.DoubleRule;
+import org.reactivecouchbase.validation.Rule;
+import org.reactivecouchbase.validation.Rules;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boxed {@code Rules.minD/maxD} against {@link DoubleRule} on the same values.
+ *
+ * sbt "validation-lib-bench/jmh:run -prof gc PrimitiveRulesBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PrimitiveRulesBenchmark {
+
+    private static final int SIZE = 1024;
+
+    @Param({"0.0", "0.1"})
+    public double failureRate;
+
+    private double[] values;
+
+    private Rule<Double, Double> boxed;
+
+    private DoubleRule primitive;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        values = new double[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = random.nextDouble() < failureRate ? -1.0 : random.nextDouble() * 100.0;
+        }
+        boxed = Rules.minD(0.0).combine(Rules.maxD(100.0));
+        primitive = DoubleRule.min(0.0).and(DoubleRule.max(100.0));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void boxed(Blackhole bh) {
+        for (double value : values) {
+            bh.consume(boxed.validate(value).isSuccess());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public void primitive(Blackhole bh) {
+        for (double value : values) {
+            if (primitive.test(value)) {
+                bh.consume(true);
+            } else {
+                bh.consume(primitive.errors(value));
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package org.reactivecouchbase.validation.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.validation.Rule;
+import org.reactivecouchbase.validation.Rules;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regex based {@code Rules.*Regex()} against the scanner based {@code Rules.email/url/phone()}.
+ *
+ * sbt "validation-lib-bench/jmh:run -prof gc ScannersBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScannersBenchmark {
+
+    @Param({"valid", "invalid"})
+    public String kind;
+
+    private String email;
+    private String url;
+    private String phone;
+
+    private final Rule<String, String> emailRegex = Rules.emailRegex();
+    private final Rule<String, String> urlRegex = Rules.urlRegex();
+    private final Rule<String, String> phoneRegex = Rules.phoneRegex();
+    private final Rule<String, String> emailScanner = Rules.email();
+    private final Rule<String, String> urlScanner = Rules.url();
+    private final Rule<String, String> phoneScanner = Rules.phone();
+
+    @Setup
+    public void setup() {
+        if ("valid".equals(kind)) {
+            email = "john.doe+newsletter@mail.example.com";
+            url = "https://www.example.com:8080/search?q=validation&lang=fr";
+            phone = "+33 (01)06 06 06 06 ext 123";
+        } else {
+            email = "john.doe+newsletter@mail.example.com.";
+            url = "https://www.example.com:8080/search?q=validation&lang=fr|";
+            phone = "+33 (01)06 06 06 06 ext 12345";
+        }
+    }
+
+    @Benchmark
+    public boolean emailRegex() {
+        return emailRegex.validate(email).isSuccess();
+    }
+
+    @Benchmark
+    public boolean emailScanner() {
+        return emailScanner.validate(email).isSuccess();
+    }
+
+    @Benchmark
+    public boolean urlRegex() {
+        return urlRegex.validate(url).isSuccess();
+    }
+
+    @Benchmark
+    public boolean urlScanner() {
+        return urlScanner.validate(url).isSuccess();
+    }
+
+    @Benchmark
+    public boolean phoneRegex() {
+        return phoneRegex.validate(phone).isSuccess();
+    }
+
+    @Benchmark
+    public boolean phoneScanner() {
+        return phoneScanner.validate(phone).isSuccess();
+    }
+}
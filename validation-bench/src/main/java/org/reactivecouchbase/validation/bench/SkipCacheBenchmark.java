@@ -0,0 +1,71 @@
+package org.reactivecouchbase.validation.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.validation.DocumentRule;
+import org.reactivecouchbase.validation.RuleSpec;
+import org.reactivecouchbase.validation.SkipCacheRule;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revalidating documents where a fraction changed since the previous pass, with and without the skip cache.
+ *
+ * sbt "validation-lib-bench/jmh:run -prof gc SkipCacheBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SkipCacheBenchmark {
+
+    private static final int DOCUMENTS = 100000;
+
+    @Param({"0.0", "0.1", "1.0"})
+    public double changed;
+
+    private Map<String, Object>[] documents;
+    private int next;
+
+    private DocumentRule rule;
+    private SkipCacheRule<Map<String, Object>> cached;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        rule = RuleSpec.defaults().compile("id: mandatory; email: email; age: isInteger > minI(0) > maxI(150)");
+        cached = rule.skipUnchanged(d -> SkipCacheRule.hash((String) d.get("id")), d -> (Long) d.get("cas"), DOCUMENTS);
+        documents = new Map[DOCUMENTS];
+        for (int i = 0; i < DOCUMENTS; i++) {
+            Map<String, Object> document = new HashMap<>();
+            document.put("id", "user::" + i);
+            document.put("cas", 1L);
+            document.put("email", "user" + i + "@mail.example.com");
+            document.put("age", i % 100);
+            documents[i] = document;
+            cached.validate(document);
+        }
+    }
+
+    private Map<String, Object> nextDocument() {
+        Map<String, Object> document = documents[next];
+        next = (next + 1) % DOCUMENTS;
+        if (changed > 0 && (next * 0x9e3779b9 >>> 8) * 0x1.0p-24 < changed) {
+            document.put("cas", (Long) document.get("cas") + 1);
+        }
+        return document;
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return rule.validate(nextDocument()).isSuccess();
+    }
+
+    @Benchmark
+    public boolean skipUnchanged() {
+        return cached.validate(nextDocument()).isSuccess();
+    }
+}
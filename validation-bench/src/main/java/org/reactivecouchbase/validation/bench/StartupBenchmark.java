@@ -0,0 +1,53 @@
+package org.reactivecouchbase.validation.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.validation.Rule;
+import org.reactivecouchbase.validation.RuleRegistry;
+import org.reactivecouchbase.validation.Rules;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the first validation in a fresh JVM: every measurement forks a new JVM and runs a single shot, so class
+ * loading, pattern compilation and interpretation are all part of the score.
+ *
+ * sbt "validation-lib-bench/jmh:run StartupBenchmark"
+ *
+ * See {@link StartupMain} to measure the same thing with an AppCDS archive.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupBenchmark {
+
+    static RuleRegistry declare(RuleRegistry registry) {
+        return registry
+                .declare("email", () -> Rules.combine(Rules.mandatory(), Rules.maxLength(64), Rules.email()), "john.doe@gmail.com", "john.doe")
+                .declare("url", Rules::url, "http://www.google.fr", "www.google.fr")
+                .declare("phone", Rules::phone, "0606060606", "06")
+                .declare("zipCode", () -> Rules.pattern("Not a zip code", "[0-9]{5}"), "75001", "7500")
+                .declare("age", () -> Rules.isInteger().compose(Rules.betweenI(0, 150)), "42", "-1")
+                .declare("birthDate", () -> Rules.localDate("yyyy-MM-dd"), "2016-01-01", "2016/01/01");
+    }
+
+    @Benchmark
+    public boolean firstValidation() {
+        Rule<String, String> email = Rules.combine(Rules.mandatory(), Rules.maxLength(64), Rules.email());
+        return email.validate("john.doe@gmail.com").isSuccess();
+    }
+
+    @Benchmark
+    public boolean firstValidationLazyRegistry() {
+        RuleRegistry registry = declare(new RuleRegistry());
+        return registry.<String, String>rule("email").validate("john.doe@gmail.com").isSuccess();
+    }
+
+    @Benchmark
+    public boolean firstValidationAfterWarmup() {
+        RuleRegistry registry = declare(new RuleRegistry()).warmup();
+        return registry.<String, String>rule("email").validate("john.doe@gmail.com").isSuccess();
+    }
+}
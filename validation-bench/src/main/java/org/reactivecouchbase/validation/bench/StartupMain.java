@@ -0,0 +1,34 @@
+package org.reactivecouchbase.validation.bench;
+
+import org.reactivecouchbase.validation.RuleRegistry;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Prints the time from JVM start to the end of the first validation, for the rules of {@link StartupBenchmark}.
+ * Run it once to train an AppCDS archive, {@code warmup} makes sure every class a validation needs gets archived:
+ *
+ * java -XX:ArchiveClassesAtExit=validation.jsa -cp [classpath] org.reactivecouchbase.validation.bench.StartupMain warmup
+ * java -XX:SharedArchiveFile=validation.jsa -cp [classpath] org.reactivecouchbase.validation.bench.StartupMain [lazy|warmup]
+ *
+ * (on Java 8 to 12, train with -XX:+UseAppCDS -XX:DumpLoadedClassList then -Xshare:dump instead)
+ */
+public class StartupMain {
+
+    public static void main(String[] args) throws Exception {
+        boolean warmup = args.length > 0 && "warmup".equals(args[0]);
+        long start = System.nanoTime();
+        RuleRegistry registry = StartupBenchmark.declare(RuleRegistry.global());
+        if (warmup) {
+            registry.warmup();
+        }
+        long ready = System.nanoTime();
+        boolean valid = registry.<String, String>rule("email").validate("john.doe@gmail.com").isSuccess();
+        long done = System.nanoTime();
+        System.out.println("mode                     " + (warmup ? "warmup" : "lazy"));
+        System.out.println("valid                    " + valid);
+        System.out.println("declare + warmup         " + (ready - start) / 1000 + " us");
+        System.out.println("first validation         " + (done - ready) / 1000 + " us");
+        System.out.println("JVM start to validation  " + ManagementFactory.getRuntimeMXBean().getUptime() + " ms");
+    }
+}
@@ -0,0 +1,51 @@
+package org.reactivecouchbase.validation.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.validation.Rule;
+import org.reactivecouchbase.validation.Rules;
+import org.reactivecouchbase.validation.TextRules;
+import org.reactivecouchbase.validation.Utf8Rules;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating a UTF-8 field of a request body by decoding it into a String first, against validating the bytes.
+ *
+ * sbt "validation-lib-bench/jmh:run -prof gc Utf8RulesBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class Utf8RulesBenchmark {
+
+    @Param({"ascii", "latin"})
+    public String kind;
+
+    private ByteBuffer field;
+
+    private final Rule<String, String> stringRule = Rules.combine(Rules.mandatory(), Rules.maxLength(64), Rules.email());
+    private final Rule<ByteBuffer, ByteBuffer> bytesRule = Utf8Rules.chars(TextRules.mandatory().combine(TextRules.maxLength(64)).combine(TextRules.email()));
+
+    @Setup
+    public void setup() {
+        String value = "ascii".equals(kind) ? "john.doe+newsletter@mail.example.com" : "jos\u00e9.fran\u00e7ois@mail.example.com";
+        field = ByteBuffer.allocateDirect(256);
+        field.put(value.getBytes(StandardCharsets.UTF_8));
+        field.flip();
+    }
+
+    @Benchmark
+    public boolean decodeThenValidate() {
+        return stringRule.validate(StandardCharsets.UTF_8.decode(field.duplicate()).toString()).isSuccess();
+    }
+
+    @Benchmark
+    public boolean validateBytes() {
+        return bytesRule.validate(field).isSuccess();
+    }
+}
@@ -0,0 +1,94 @@
+package org.reactivecouchbase.validation.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.validation.Paths;
+import org.reactivecouchbase.validation.Rules;
+import org.reactivecouchbase.validation.ValidationError;
+import org.reactivecouchbase.validation.ValidationErrorCodec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary codec against Jackson encoding the same errors as {@code {path: [...], code, message}} objects.
+ *
+ * sbt "validation-lib-bench/jmh:run -prof gc ValidationErrorCodecBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ValidationErrorCodecBenchmark {
+
+    @Param({"10", "1000"})
+    public int errorCount;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private List<ValidationError> errors;
+    private ByteBuffer binary;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws Exception {
+        errors = new ArrayList<>();
+        for (int i = 0; i < errorCount; i++) {
+            errors.addAll(Rules.betweenI(18, 99).repath(Paths.Root.field("users").atIndex(i).field("age")).validate(i % 150).getFailures());
+            errors.addAll(Rules.email().repath(Paths.Root.field("users").atIndex(i).field("email")).validate("john.doe").getFailures());
+        }
+        binary = ValidationErrorCodec.encode(errors);
+        json = mapper.writeValueAsBytes(toJson(errors));
+    }
+
+    private static List<Map<String, Object>> toJson(List<ValidationError> errors) {
+        List<Map<String, Object>> result = new ArrayList<>(errors.size());
+        for (ValidationError error : errors) {
+            Map<String, Object> json = new HashMap<>();
+            List<String> path = new ArrayList<>();
+            for (Paths.PathNode node : error.path.path) {
+                path.add(node.stringify());
+            }
+            json.put("path", path);
+            json.put("code", error.code);
+            json.put("message", error.message());
+            result.add(json);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public ByteBuffer encodeBinary() {
+        return ValidationErrorCodec.encode(errors);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return mapper.writeValueAsBytes(toJson(errors));
+    }
+
+    @Benchmark
+    public int decodeBinaryAndCount() {
+        return ValidationErrorCodec.decode(binary.duplicate()).size();
+    }
+
+    @Benchmark
+    public String decodeBinaryAndReadAll() {
+        String last = null;
+        for (ValidationError error : ValidationErrorCodec.decode(binary.duplicate())) {
+            last = error.message();
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Object decodeJson() throws Exception {
+        return mapper.readValue(json, List.class);
+    }
+}
@@ -0,0 +1,71 @@
+package org.reactivecouchbase.validation.bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.reactivecouchbase.validation.Rule;
+import org.reactivecouchbase.validation.Rules;
+import org.reactivecouchbase.validation.Validation;
+import org.reactivecouchbase.validation.ValidationError;
+import org.reactivecouchbase.validation.ValidationException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of rejected requests using {@code orThrow()} with and without stack traces.
+ *
+ * sbt "validation-lib-bench/jmh:run ValidationExceptionBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ValidationExceptionBenchmark {
+
+    /**
+     * Depth of the call stack when the exception is thrown, a request handler is rarely at the top.
+     */
+    @Param({"10", "100"})
+    public int depth;
+
+    private Rule<String, String> rule;
+
+    @Setup
+    public void setup() {
+        rule = Rules.combine(Rules.mandatory(), Rules.minLength(8), Rules.email());
+    }
+
+    private Validation<String, ValidationError> reject(int remaining, boolean captureStackTrace) {
+        if (remaining == 0) {
+            return rule.validate("").orThrow(captureStackTrace);
+        }
+        return reject(remaining - 1, captureStackTrace);
+    }
+
+    @Benchmark
+    public Object withStackTrace() {
+        try {
+            return reject(depth, true);
+        } catch (ValidationException e) {
+            return e.getFailure();
+        }
+    }
+
+    @Benchmark
+    public Object stackless() {
+        try {
+            return reject(depth, false);
+        } catch (ValidationException e) {
+            return e.getFailure();
+        }
+    }
+
+    @Benchmark
+    public Object stacklessWithMessage() {
+        try {
+            return reject(depth, false);
+        } catch (ValidationException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.reactivecouchbase.validation.bench;
+
+import org.reactivecouchbase.validation.Rule;
+import org.reactivecouchbase.validation.Rules;
+import org.reactivecouchbase.validation.Validation;
+import org.reactivecouchbase.validation.ValidationError;
+import org.reactivecouchbase.validation.ValidationService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test harness for {@link ValidationService}: producers submit bursts of inputs and the harness reports
+ * throughput, rejections, end to end latency percentiles, queue depth and batch latency.
+ *
+ * sbt "validation-lib-bench/runMain org.reactivecouchbase.validation.bench.ValidationServiceLoadTest [producers] [burst] [bursts] [REJECT|BLOCK]"
+ */
+public class ValidationServiceLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        final int producers = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        final int burst = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        final int bursts = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        ValidationService.OverflowPolicy policy = args.length > 3 ? ValidationService.OverflowPolicy.valueOf(args[3]) : ValidationService.OverflowPolicy.REJECT;
+
+        Rule<String, String> rule = Rules.combine(Rules.mandatory(), Rules.maxLength(64), Rules.email());
+        final ValidationService<String, String> service = ValidationService.builder(rule)
+                .maxBatchSize(128)
+                .maxBatchDelay(Duration.ofMillis(1))
+                .queueCapacity(16384)
+                .overflowPolicy(policy)
+                .build();
+
+        final long[] latencies = new long[producers * burst * bursts];
+        final AtomicLong index = new AtomicLong();
+        final AtomicLong maxQueueDepth = new AtomicLong();
+        final CountDownLatch done = new CountDownLatch(producers);
+        long start = System.nanoTime();
+        for (int p = 0; p < producers; p++) {
+            new Thread(() -> {
+                try {
+                    for (int b = 0; b < bursts; b++) {
+                        List<CompletableFuture<Validation<String, ValidationError>>> futures = new ArrayList<>(burst);
+                        for (int i = 0; i < burst; i++) {
+                            final long submittedAt = System.nanoTime();
+                            futures.add(service.submit("user" + i + "@domain.com").whenComplete((v, e) -> {
+                                if (e == null) {
+                                    latencies[(int) index.getAndIncrement()] = System.nanoTime() - submittedAt;
+                                }
+                            }));
+                        }
+                        maxQueueDepth.accumulateAndGet(service.queueDepth(), Math::max);
+                        for (CompletableFuture<Validation<String, ValidationError>> future : futures) {
+                            future.handle((v, e) -> v).join();
+                        }
+                        Thread.sleep(5);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "producer-" + p).start();
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        service.close();
+
+        ValidationService.Stats stats = service.stats();
+        long[] completed = Arrays.copyOf(latencies, (int) index.get());
+        Arrays.sort(completed);
+        System.out.println("policy            : " + policy);
+        System.out.println("throughput        : " + (long) (stats.validated / (elapsed / 1e9)) + " validations/s");
+        System.out.println("rejected          : " + stats.rejected);
+        System.out.println("max queue depth   : " + maxQueueDepth.get());
+        System.out.println("latency p50       : " + percentile(completed, 0.50) + " us");
+        System.out.println("latency p99       : " + percentile(completed, 0.99) + " us");
+        System.out.println("latency max       : " + percentile(completed, 1.0) + " us");
+        System.out.println(stats);
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0L;
+        }
+        int i = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(0, i)]);
+    }
+}
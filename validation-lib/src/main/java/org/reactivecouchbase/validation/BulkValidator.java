@@ -0,0 +1,505 @@
+package org.reactivecouchbase.validation;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Validates every record (line) of a large file, ie. a NDJSON or CSV dump, with a rule.
+ *
+ * The file is memory mapped chunk by chunk, each chunk ending at a record end, and chunks are parsed and validated in
+ * parallel. Only a bounded window of chunks is in flight and at most {@code maxErrors} errors are kept, so heap use
+ * does not depend on the size of the file. Errors are reported with their line number (1 based, counting the header
+ * and blank lines) and the {@link Paths.Path} of the field in the record. CSV records may span several lines when a
+ * quoted field holds line ends, chunks then only end outside quotes and a record is reported at its first line.
+ */
+public class BulkValidator<R> {
+
+    /**
+     * Parse the bytes of a line (without its line terminator) into a record. The buffer is reused for the next line,
+     * records must not keep it.
+     */
+    public interface RecordParser<R> {
+        R parse(ByteBuffer line) throws Exception;
+    }
+
+    private final RecordParser<R> parser;
+    private final Function<ByteBuffer, RecordParser<R>> headerParser;
+    private final Rule<R, ?> rule;
+    private final boolean quotes;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maxErrors;
+    private final ExecutorService executor;
+
+    private BulkValidator(Builder<R> builder) {
+        this.parser = builder.parser;
+        this.headerParser = builder.headerParser;
+        this.rule = builder.rule;
+        this.quotes = builder.quotes;
+        this.chunkSize = builder.chunkSize;
+        this.parallelism = builder.parallelism;
+        this.maxErrors = builder.maxErrors;
+        this.executor = builder.executor;
+    }
+
+    /**
+     * Every line of the file is a record, ie. NDJSON parsed by parser.
+     */
+    public static <R> Builder<R> builder(RecordParser<R> parser, Rule<R, ?> rule) {
+        return new Builder<>(parser, null, false, rule);
+    }
+
+    /**
+     * Comma separated values, the first line of the file being the header. Records are maps from column names to
+     * values, so rules can use the column names as paths. Quoted fields may hold separators, line ends and doubled
+     * quotes ({@code "a ""quoted"",\nvalue"}).
+     */
+    public static Builder<Map<String, Object>> csv(Rule<Map<String, Object>, ?> rule) {
+        return csv(',', rule);
+    }
+
+    public static Builder<Map<String, Object>> csv(final char separator, Rule<Map<String, Object>, ?> rule) {
+        return new Builder<>(null, header -> new CsvParser(separator, header), true, rule);
+    }
+
+    public Report validate(Path file) throws IOException {
+        long start = System.nanoTime();
+        ExecutorService pool = executor != null ? executor : Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-validator-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ArrayDeque<Future<Chunk>> pending = new ArrayDeque<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            Report report = new Report(maxErrors);
+            RecordParser<R> recordParser = parser;
+            if (headerParser != null) {
+                ByteBuffer header = firstRecord(channel, size);
+                position = header.limit();
+                recordParser = headerParser.apply(trim(header, 0, header.limit()));
+                report.lines = lines(header, 0, header.limit());
+            }
+            final RecordParser<R> chunkParser = recordParser;
+            while (position < size) {
+                final ByteBuffer chunk = chunk(channel, position, size);
+                position += chunk.limit();
+                pending.add(pool.submit(() -> validate(chunk, chunkParser)));
+                if (pending.size() >= parallelism * 2) {
+                    report.merge(pending.poll().get());
+                }
+            }
+            while (!pending.isEmpty()) {
+                report.merge(pending.poll().get());
+            }
+            report.bytes = size;
+            report.elapsedNanos = System.nanoTime() - start;
+            return report;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while validating " + file);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to validate " + file, e.getCause());
+        } finally {
+            for (Future<Chunk> future : pending) {
+                future.cancel(true);
+            }
+            if (executor == null) {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Map the chunk starting at position, it ends after the last record end within chunkSize bytes, or is grown until
+     * it holds a whole record (records longer than 2GB are split).
+     */
+    private ByteBuffer chunk(FileChannel channel, long position, long size) throws IOException {
+        long length = Math.min(chunkSize, size - position);
+        while (true) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            if (position + length == size) {
+                return buffer;
+            }
+            int end = lastRecordEnd(buffer, (int) length);
+            if (end > 0) {
+                buffer.limit(end);
+                return buffer;
+            }
+            long next = Math.min(Math.min(length * 2, size - position), Integer.MAX_VALUE);
+            if (next == length) {
+                return buffer;
+            }
+            length = next;
+        }
+    }
+
+    private ByteBuffer firstRecord(FileChannel channel, long size) throws IOException {
+        long length = Math.min(chunkSize, size);
+        while (true) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            int end = recordEnd(buffer, 0, (int) length);
+            if (end > 0) {
+                buffer.limit(end);
+                return buffer;
+            }
+            long next = Math.min(Math.min(length * 2, size), Integer.MAX_VALUE);
+            if (next == length) {
+                return buffer;
+            }
+            length = next;
+        }
+    }
+
+    /**
+     * End of the record starting at start (after its line end), or -1 if it does not end before limit. With quotes,
+     * line ends within quoted fields belong to the record: a doubled quote toggles the state twice.
+     */
+    private int recordEnd(ByteBuffer buffer, int start, int limit) {
+        boolean quoted = false;
+        for (int i = start; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n' && !quoted) {
+                return i + 1;
+            } else if (b == '"' && quotes) {
+                quoted = !quoted;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * End of the last record ending before limit, or 0 if there is none. Without quotes it is found from the end,
+     * otherwise the quote state is only known scanning from the start (a record start is never quoted).
+     */
+    private int lastRecordEnd(ByteBuffer buffer, int limit) {
+        if (!quotes) {
+            for (int i = limit - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return i + 1;
+                }
+            }
+            return 0;
+        }
+        int last = 0;
+        for (int end = recordEnd(buffer, 0, limit); end > 0; end = recordEnd(buffer, end, limit)) {
+            last = end;
+        }
+        return last;
+    }
+
+    /**
+     * Number of lines of the record between start and end.
+     */
+    private int lines(ByteBuffer buffer, int start, int end) {
+        if (!quotes) {
+            return 1;
+        }
+        int lines = end > start && buffer.get(end - 1) == '\n' ? 0 : 1;
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * View of the line between start and end, without its line terminator.
+     */
+    private static ByteBuffer trim(ByteBuffer buffer, int start, int end) {
+        ByteBuffer line = buffer.duplicate();
+        return trim(buffer, line, start, end);
+    }
+
+    private static ByteBuffer trim(ByteBuffer buffer, ByteBuffer line, int start, int end) {
+        if (end > start && buffer.get(end - 1) == '\n') {
+            end--;
+        }
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        line.limit(end);
+        line.position(start);
+        return line;
+    }
+
+    private Chunk validate(ByteBuffer buffer, RecordParser<R> recordParser) {
+        Chunk chunk = new Chunk(maxErrors);
+        ByteBuffer line = buffer.duplicate();
+        int limit = buffer.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = recordEnd(buffer, lineStart, limit);
+            if (lineEnd < 0) {
+                lineEnd = limit;
+            }
+            trim(buffer, line, lineStart, lineEnd);
+            if (line.hasRemaining()) {
+                chunk.records++;
+                try {
+                    Validation<?, ValidationError> validation = rule.validate(recordParser.parse(line));
+                    if (validation.isFailure()) {
+                        chunk.failed(validation.getFailures());
+                    }
+                } catch (Exception e) {
+                    chunk.failed(Collections.singletonList(ValidationError.at(Paths.Root, e)));
+                }
+            }
+            chunk.lines += lines(buffer, lineStart, lineEnd);
+            lineStart = lineEnd;
+        }
+        return chunk;
+    }
+
+    /**
+     * Outcome of a chunk, line numbers are relative to the start of the chunk.
+     */
+    private static class Chunk {
+
+        private final int maxErrors;
+        private long lines = 0;
+        private long records = 0;
+        private long failures = 0;
+        private boolean truncated = false;
+        private final List<Long> errorLines = new ArrayList<>();
+        private final List<ValidationError> errors = new ArrayList<>();
+
+        private Chunk(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void failed(List<ValidationError> recordErrors) {
+            failures++;
+            for (ValidationError error : recordErrors) {
+                if (errors.size() == maxErrors) {
+                    truncated = true;
+                    return;
+                }
+                errorLines.add(lines);
+                errors.add(error);
+            }
+        }
+    }
+
+    /**
+     * An error of the record at line.
+     */
+    public static class BulkError {
+
+        public final long line;
+        public final ValidationError error;
+
+        private BulkError(long line, ValidationError error) {
+            this.line = line;
+            this.error = error;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + " " + error.path + ": " + error.message();
+        }
+    }
+
+    public static class Report {
+
+        private final int maxErrors;
+        private long lines = 0;
+        private long records = 0;
+        private long failures = 0;
+        private long bytes = 0;
+        private long elapsedNanos = 0;
+        private boolean truncated = false;
+        private final List<BulkError> errors = new ArrayList<>();
+
+        private Report(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void merge(Chunk chunk) {
+            for (int i = 0; i < chunk.errors.size(); i++) {
+                if (errors.size() == maxErrors) {
+                    truncated = true;
+                    break;
+                }
+                errors.add(new BulkError(lines + chunk.errorLines.get(i) + 1, chunk.errors.get(i)));
+            }
+            truncated = truncated || chunk.truncated;
+            lines += chunk.lines;
+            records += chunk.records;
+            failures += chunk.failures;
+        }
+
+        public boolean isSuccess() {
+            return failures == 0;
+        }
+
+        public long records() {
+            return records;
+        }
+
+        /**
+         * Number of records that failed validation.
+         */
+        public long failures() {
+            return failures;
+        }
+
+        /**
+         * The first errors in line order, at most maxErrors of them.
+         */
+        public List<BulkError> errors() {
+            return Collections.unmodifiableList(errors);
+        }
+
+        /**
+         * Whether some errors were dropped because there were more than maxErrors.
+         */
+        public boolean isTruncated() {
+            return truncated;
+        }
+
+        public long bytes() {
+            return bytes;
+        }
+
+        public long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double megabytesPerSecond() {
+            return elapsedNanos == 0 ? 0 : (bytes / (1024.0 * 1024.0)) / (elapsedNanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return "Report(records: " + records + ", failures: " + failures + ", " + String.format("%.1f", megabytesPerSecond()) + " MB/s)";
+        }
+    }
+
+    /**
+     * Fields separated by separator, possibly quoted ({@code "a ""quoted"", value"}).
+     */
+    private static class CsvParser implements RecordParser<Map<String, Object>> {
+
+        private final char separator;
+        private final String[] columns;
+
+        private CsvParser(char separator, ByteBuffer header) {
+            this.separator = separator;
+            List<String> names = fields(header);
+            this.columns = names.toArray(new String[names.size()]);
+        }
+
+        @Override
+        public Map<String, Object> parse(ByteBuffer line) {
+            List<String> values = fields(line);
+            Map<String, Object> record = new LinkedHashMap<>(columns.length * 2);
+            for (int i = 0; i < columns.length && i < values.size(); i++) {
+                record.put(columns[i], values.get(i));
+            }
+            return record;
+        }
+
+        private List<String> fields(ByteBuffer line) {
+            List<String> fields = new ArrayList<>(columns == null ? 16 : columns.length);
+            byte[] field = new byte[Math.max(16, line.remaining())];
+            int size = 0;
+            boolean quoted = false;
+            int limit = line.limit();
+            for (int i = line.position(); i < limit; i++) {
+                byte b = line.get(i);
+                if (quoted) {
+                    if (b == '"') {
+                        if (i + 1 < limit && line.get(i + 1) == '"') {
+                            field[size++] = '"';
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field[size++] = b;
+                    }
+                } else if (b == '"') {
+                    quoted = true;
+                } else if (b == separator) {
+                    fields.add(new String(field, 0, size, StandardCharsets.UTF_8));
+                    size = 0;
+                } else {
+                    field[size++] = b;
+                }
+            }
+            fields.add(new String(field, 0, size, StandardCharsets.UTF_8));
+            return fields;
+        }
+    }
+
+    public static class Builder<R> {
+
+        private final RecordParser<R> parser;
+        private final Function<ByteBuffer, RecordParser<R>> headerParser;
+        private final Rule<R, ?> rule;
+        private final boolean quotes;
+        private int chunkSize = 16 * 1024 * 1024;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int maxErrors = 1000;
+        private ExecutorService executor;
+
+        private Builder(RecordParser<R> parser, Function<ByteBuffer, RecordParser<R>> headerParser, boolean quotes, Rule<R, ?> rule) {
+            this.parser = parser;
+            this.headerParser = headerParser;
+            this.quotes = quotes;
+            this.rule = rule;
+        }
+
+        /**
+         * Bytes mapped per chunk, a chunk is larger if a single record does not fit in it.
+         */
+        public Builder<R> chunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Number of threads validating chunks, each one has at most two chunks in flight.
+         */
+        public Builder<R> parallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        public Builder<R> maxErrors(int maxErrors) {
+            this.maxErrors = maxErrors;
+            return this;
+        }
+
+        /**
+         * Run chunks on this executor instead of a pool of parallelism threads created for every file.
+         */
+        public Builder<R> executor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public BulkValidator<R> build() {
+            return new BulkValidator<>(this);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.reactivecouchbase.validation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Outcome of a column validation: the rows that failed, and their errors at {@code [row]} paths.
+ * Errors are only built when asked for, and only for the failing rows.
+ */
+public class ColumnValidation<C> {
+
+    interface RowErrors {
+        void addErrors(int row, List<ValidationError> errors);
+    }
+
+    private final C column;
+    private final BitSet failures;
+    private final RowErrors rowErrors;
+
+    ColumnValidation(C column, BitSet failures, RowErrors rowErrors) {
+        this.column = column;
+        this.failures = failures;
+        this.rowErrors = rowErrors;
+    }
+
+    public boolean isSuccess() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * Indexes of the failing rows, do not modify.
+     */
+    public BitSet failures() {
+        return failures;
+    }
+
+    public int failureCount() {
+        return failures.cardinality();
+    }
+
+    public List<ValidationError> errors() {
+        List<ValidationError> errors = new ArrayList<>();
+        List<ValidationError> row = new ArrayList<>(4);
+        for (int i = failures.nextSetBit(0); i >= 0; i = failures.nextSetBit(i + 1)) {
+            row.clear();
+            rowErrors.addErrors(i, row);
+            Paths.Path path = Paths.Root.atIndex(i);
+            for (ValidationError error : row) {
+                errors.add(error.repath(path.compose(error.path)));
+            }
+        }
+        return errors;
+    }
+
+    public Validation<C, ValidationError> validation() {
+        if (isSuccess()) {
+            return Validation.success(column);
+        }
+        return Validation.failure(errors());
+    }
+}
@@ -0,0 +1,155 @@
+package org.reactivecouchbase.validation;
+
+import java.time.Duration;
+
+/**
+ * A point in time after which validation should stop.
+ *
+ * {@link Rule#withDeadline(Duration)} sets the deadline of the current thread while its rule runs. Long running rules
+ * cooperate by calling {@link #checkCurrent()}, and regex rules match against {@link #guard(CharSequence, Duration)},
+ * a view on the input that aborts the matching (even a catastrophically backtracking one) once the deadline passed.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+    private final Duration timeout;
+
+    private Deadline(long deadlineNanos, Duration timeout) {
+        this.deadlineNanos = deadlineNanos;
+        this.timeout = timeout;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos(), timeout);
+    }
+
+    /**
+     * The deadline of the current thread, or {@code null}.
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @throws DeadlineExceededException if the deadline of the current thread has passed
+     */
+    public static void checkCurrent() {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null) {
+            deadline.check();
+        }
+    }
+
+    /**
+     * The earliest of the current thread deadline and a deadline after the timeout.
+     */
+    static Deadline within(Duration timeout) {
+        Deadline deadline = after(timeout);
+        Deadline current = CURRENT.get();
+        if (current != null && current.deadlineNanos - deadline.deadlineNanos < 0) {
+            return current;
+        }
+        return deadline;
+    }
+
+    static Deadline enter(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        return previous;
+    }
+
+    static void exit(Deadline previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - deadlineNanos > 0;
+    }
+
+    public void check() {
+        if (isExpired()) {
+            throw new DeadlineExceededException(error());
+        }
+    }
+
+    public ValidationError error() {
+        return timeoutError(timeout);
+    }
+
+    static ValidationError timeoutError(Duration timeout) {
+        return ValidationError.withCode("error.timeout", "Validation did not complete within {} ms", timeout.toMillis());
+    }
+
+    /**
+     * A view on the input that throws a {@link DeadlineExceededException} when read after the earliest of the current
+     * thread deadline and the timeout.
+     */
+    public static CharSequence guard(CharSequence input, Duration timeout) {
+        return new GuardedCharSequence(input, 0, input.length(), within(timeout), new int[1]);
+    }
+
+    /**
+     * A view on the input that throws a {@link DeadlineExceededException} when read after the current thread deadline,
+     * or the input itself when there is none.
+     */
+    public static CharSequence guard(CharSequence input) {
+        Deadline current = CURRENT.get();
+        if (current == null) {
+            return input;
+        }
+        return new GuardedCharSequence(input, 0, input.length(), current, new int[1]);
+    }
+
+    private static class GuardedCharSequence implements CharSequence {
+
+        private static final int CHECK_INTERVAL = 1024;
+
+        private final CharSequence input;
+        private final int start;
+        private final int end;
+        private final Deadline deadline;
+        private final int[] reads;
+
+        private GuardedCharSequence(CharSequence input, int start, int end, Deadline deadline, int[] reads) {
+            this.input = input;
+            this.start = start;
+            this.end = end;
+            this.deadline = deadline;
+            this.reads = reads;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (++reads[0] == CHECK_INTERVAL) {
+                reads[0] = 0;
+                deadline.check();
+            }
+            return input.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return new GuardedCharSequence(input, start + from, start + to, deadline, reads);
+        }
+
+        @Override
+        public String toString() {
+            return input.subSequence(start, end).toString();
+        }
+    }
+}
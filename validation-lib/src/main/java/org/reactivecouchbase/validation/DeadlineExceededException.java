@@ -0,0 +1,25 @@
+package org.reactivecouchbase.validation;
+
+/**
+ * Thrown when a {@link Deadline} has passed. Stackless, as it is used to unwind a validation, not to debug it.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ValidationError error;
+
+    public DeadlineExceededException(ValidationError error) {
+        super(null, null, false, false);
+        this.error = error;
+    }
+
+    @Override
+    public String getMessage() {
+        return error.message();
+    }
+
+    public ValidationError getError() {
+        return error;
+    }
+}
@@ -0,0 +1,296 @@
+package org.reactivecouchbase.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Validate schemaless documents (nested {@code Map<String, Object>} / {@code List<Object>}) against a set of rules
+ * registered at {@link Paths.Path}s.
+ *
+ * Registrations are compiled into a trie keyed by path nodes, so the whole document is validated in a single traversal
+ * whatever the number of rules. {@link Paths#AnyIndex} registers a rule for every element of an array.
+ * A rule registered at a path that does not exist in the document receives {@code null}.
+ *
+ * A rule only reads the sub document at its path, so after an edit {@link #revalidate(Map, Report, Collection)}
+ * only re-runs the rules whose path is a parent or a child of a changed path.
+ */
+public class DocumentRule extends Rule<Map<String, Object>, Map<String, Object>> {
+
+    private final Node root;
+
+    private DocumentRule(Node root) {
+        this.root = root;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Validation<Map<String, Object>, ValidationError> validate(Map<String, Object> in) {
+        final List<ValidationError> errors = new ArrayList<>();
+        root.walk(in, Paths.Root, (id, path, failures) -> errors.addAll(failures));
+        if (errors.isEmpty()) {
+            return Validation.success(in);
+        }
+        return Validation.failure(errors);
+    }
+
+    /**
+     * Validate the whole document and keep track of which rule produced which errors.
+     */
+    public Report report(Map<String, Object> in) {
+        Report report = new Report(in, new LinkedHashMap<>());
+        root.walk(in, Paths.Root, report::put);
+        return report;
+    }
+
+    /**
+     * Re-run only the rules affected by the changed paths and merge their errors with the previous ones.
+     * Errors of re-run rules come after the errors kept from the previous report.
+     */
+    public Report revalidate(Map<String, Object> in, Report previous, Collection<Paths.Path> changedPaths) {
+        Report report = new Report(in, new LinkedHashMap<>(previous.errors));
+        for (Paths.Path changed : changedPaths) {
+            for (Paths.PathNode node : changed.path) {
+                if (node instanceof Paths.WildcardIndexPathNode) {
+                    throw new IllegalArgumentException("Changed paths must be concrete: " + changed);
+                }
+            }
+            Iterator<Key> keys = report.errors.keySet().iterator();
+            while (keys.hasNext()) {
+                Paths.Path path = keys.next().path;
+                if (path.startsWith(changed) || changed.startsWith(path)) {
+                    keys.remove();
+                }
+            }
+        }
+        for (Paths.Path changed : changedPaths) {
+            root.revisit(in, Paths.Root, changed.path, 0, report::put);
+        }
+        return report;
+    }
+
+    public static class Builder {
+
+        private final Node root = new Node();
+        private int registrations = 0;
+
+        private Builder() {
+        }
+
+        public Builder rule(String path, Rule<?, ?> rule) {
+            return rule(Paths.parse(path), rule);
+        }
+
+        @SuppressWarnings("unchecked")
+        public Builder rule(Paths.Path path, Rule<?, ?> rule) {
+            Node node = root;
+            for (Paths.PathNode pathNode : path.path) {
+                node = node.child(pathNode);
+            }
+            node.rules.add(new Registration(registrations++, (Rule<Object, ?>) rule));
+            return this;
+        }
+
+        public DocumentRule build() {
+            return new DocumentRule(root.freeze());
+        }
+    }
+
+    /**
+     * Outcome of a document validation, errors are indexed by the rule registration and the concrete path it ran at.
+     */
+    public static class Report {
+
+        private final Map<String, Object> document;
+        private final Map<Key, List<ValidationError>> errors;
+
+        private Report(Map<String, Object> document, Map<Key, List<ValidationError>> errors) {
+            this.document = document;
+            this.errors = errors;
+        }
+
+        private void put(int id, Paths.Path path, List<ValidationError> failures) {
+            errors.put(new Key(id, path), failures);
+        }
+
+        public boolean isSuccess() {
+            return errors.isEmpty();
+        }
+
+        public List<ValidationError> errors() {
+            ErrorList<ValidationError> all = ErrorList.empty();
+            for (List<ValidationError> failures : errors.values()) {
+                all = all.concat(failures);
+            }
+            return all;
+        }
+
+        public Validation<Map<String, Object>, ValidationError> validation() {
+            if (errors.isEmpty()) {
+                return Validation.success(document);
+            }
+            return Validation.failure(errors());
+        }
+    }
+
+    private interface Sink {
+        void failed(int id, Paths.Path path, List<ValidationError> errors);
+    }
+
+    private static class Key {
+
+        private final int id;
+        private final Paths.Path path;
+
+        private Key(int id, Paths.Path path) {
+            this.id = id;
+            this.path = path;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return id == key.id && path.equals(key.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, path);
+        }
+    }
+
+    private static class Registration {
+
+        private final int id;
+        private final Rule<Object, ?> rule;
+
+        private Registration(int id, Rule<Object, ?> rule) {
+            this.id = id;
+            this.rule = rule;
+        }
+    }
+
+    private static class Node {
+
+        private List<Registration> rules = new ArrayList<>();
+        private Map<String, Node> keys = new LinkedHashMap<>();
+        private Map<Integer, Node> indexes = new LinkedHashMap<>();
+        private Node anyIndex;
+
+        Node child(Paths.PathNode pathNode) {
+            if (pathNode instanceof Paths.KeyPathNode) {
+                return keys.computeIfAbsent(((Paths.KeyPathNode) pathNode).key, k -> new Node());
+            }
+            if (pathNode instanceof Paths.IndexPathNode) {
+                return indexes.computeIfAbsent(((Paths.IndexPathNode) pathNode).index, k -> new Node());
+            }
+            if (pathNode instanceof Paths.WildcardIndexPathNode) {
+                if (anyIndex == null) {
+                    anyIndex = new Node();
+                }
+                return anyIndex;
+            }
+            throw new IllegalArgumentException("Unsupported path node " + pathNode);
+        }
+
+        Node freeze() {
+            Node node = new Node();
+            node.rules = rules.isEmpty() ? Collections.emptyList() : new ArrayList<>(rules);
+            node.keys = new LinkedHashMap<>();
+            keys.forEach((k, v) -> node.keys.put(k, v.freeze()));
+            node.indexes = new LinkedHashMap<>();
+            indexes.forEach((k, v) -> node.indexes.put(k, v.freeze()));
+            node.anyIndex = anyIndex == null ? null : anyIndex.freeze();
+            return node;
+        }
+
+        void run(Object value, Paths.Path path, Sink sink) {
+            for (Registration registration : rules) {
+                try {
+                    Validation<?, ValidationError> validation = registration.rule.validate(value);
+                    if (validation.isFailure()) {
+                        List<ValidationError> errors = new ArrayList<>(validation.getFailures().size());
+                        for (ValidationError error : validation.getFailures()) {
+                            errors.add(error.repath(path.compose(error.path)));
+                        }
+                        sink.failed(registration.id, path, errors);
+                    }
+                } catch (Exception e) {
+                    sink.failed(registration.id, path, Collections.singletonList(ValidationError.at(path, e)));
+                }
+            }
+        }
+
+        void walk(Object value, Paths.Path path, Sink sink) {
+            run(value, path, sink);
+            for (Map.Entry<String, Node> entry : keys.entrySet()) {
+                entry.getValue().walk(field(value, entry.getKey()), path.andThen(entry.getKey()), sink);
+            }
+            for (Map.Entry<Integer, Node> entry : indexes.entrySet()) {
+                int index = entry.getKey();
+                entry.getValue().walk(element(value, index), path.andThen(index), sink);
+            }
+            if (anyIndex != null && value instanceof List) {
+                int index = 0;
+                for (Object child : (List<?>) value) {
+                    anyIndex.walk(child, path.andThen(index), sink);
+                    index++;
+                }
+            }
+        }
+
+        /**
+         * Walk down the changed path only, re-running the rules met on the way, then the whole subtree at its end.
+         */
+        void revisit(Object value, Paths.Path path, List<Paths.PathNode> changed, int depth, Sink sink) {
+            if (depth == changed.size()) {
+                walk(value, path, sink);
+                return;
+            }
+            run(value, path, sink);
+            Paths.PathNode pathNode = changed.get(depth);
+            if (pathNode instanceof Paths.KeyPathNode) {
+                String key = ((Paths.KeyPathNode) pathNode).key;
+                Node child = keys.get(key);
+                if (child != null) {
+                    child.revisit(field(value, key), path.andThen(key), changed, depth + 1, sink);
+                }
+            } else if (pathNode instanceof Paths.IndexPathNode) {
+                int index = ((Paths.IndexPathNode) pathNode).index;
+                Node child = indexes.get(index);
+                if (child != null) {
+                    child.revisit(element(value, index), path.andThen(index), changed, depth + 1, sink);
+                }
+                if (anyIndex != null && value instanceof List && index < ((List<?>) value).size()) {
+                    anyIndex.revisit(element(value, index), path.andThen(index), changed, depth + 1, sink);
+                }
+            }
+        }
+
+        private static Object field(Object value, String key) {
+            return value instanceof Map ? ((Map<?, ?>) value).get(key) : null;
+        }
+
+        private static Object element(Object value, int index) {
+            if (value instanceof List) {
+                List<?> list = (List<?>) value;
+                return index < list.size() ? list.get(index) : null;
+            }
+            return null;
+        }
+    }
+}
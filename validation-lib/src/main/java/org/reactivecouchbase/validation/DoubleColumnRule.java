@@ -0,0 +1,139 @@
+package org.reactivecouchbase.validation;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Validates a whole {@code double[]} column without boxing, ie. {@code DoubleColumnRule.builder().min(0.0).max(100.0).build()}
+ * checks the same bounds as {@code Rules.list(Rules.betweenD(0.0, 100.0))} on every row.
+ *
+ * Rows are checked 64 at a time with branch free comparisons, each block producing one word of the failures bitmap,
+ * which lets the JIT vectorize the loop. Null rows are given as a bitmap (bit set for null); they are skipped, or
+ * fail if the column is {@link Builder#notNull()}.
+ */
+public class DoubleColumnRule extends Rule<double[], double[]> {
+
+    private static final ValidationError NULL_ERROR = ValidationError.withCode("error.required", "Input can't be null");
+    private static final ValidationError NAN_ERROR = ValidationError.withCode("error.nan", "The specified value is not a number");
+
+    private final boolean hasMin;
+    private final double min;
+    private final boolean hasMax;
+    private final double max;
+    private final boolean notNaN;
+    private final boolean notNull;
+    private final ValidationError minError;
+    private final ValidationError maxError;
+
+    private DoubleColumnRule(Builder builder) {
+        this.hasMin = builder.hasMin;
+        this.min = builder.min;
+        this.hasMax = builder.hasMax;
+        this.max = builder.max;
+        this.notNaN = builder.notNaN;
+        this.notNull = builder.notNull;
+        this.minError = ValidationError.withCode("error.min", "The specified value is smaller than {}", min);
+        this.maxError = ValidationError.withCode("error.max", "The specified value is bigger than {}", max);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Validation<double[], ValidationError> validate(double[] in) {
+        if (in == null) {
+            return Validation.failure(NULL_ERROR);
+        }
+        return check(in).validation();
+    }
+
+    public ColumnValidation<double[]> check(double[] values) {
+        return check(values, new BitSet());
+    }
+
+    public ColumnValidation<double[]> check(final double[] values, final BitSet nulls) {
+        int size = values.length;
+        long[] nullWords = nulls.toLongArray();
+        long[] words = new long[(size + 63) >>> 6];
+        final boolean checkMin = hasMin;
+        final double minValue = min;
+        final boolean checkMax = hasMax;
+        final double maxValue = max;
+        final boolean checkNaN = notNaN;
+        for (int w = 0; w < words.length; w++) {
+            int base = w << 6;
+            int end = Math.min(base + 64, size);
+            long mask = 0L;
+            for (int i = base; i < end; i++) {
+                double value = values[i];
+                boolean failed = (checkMin & !(value > minValue)) | (checkMax & !(value < maxValue)) | (checkNaN & value != value);
+                mask |= (failed ? 1L : 0L) << (i - base);
+            }
+            long nullWord = w < nullWords.length ? nullWords[w] & (-1L >>> (64 - (end - base))) : 0L;
+            words[w] = notNull ? mask | nullWord : mask & ~nullWord;
+        }
+        return new ColumnValidation<>(values, BitSet.valueOf(words), (row, errors) -> addErrors(values[row], nulls.get(row), errors));
+    }
+
+    private void addErrors(double value, boolean isNull, List<ValidationError> errors) {
+        if (isNull) {
+            errors.add(NULL_ERROR);
+            return;
+        }
+        if (hasMin && !(value > min)) {
+            errors.add(minError);
+        }
+        if (hasMax && !(value < max)) {
+            errors.add(maxError);
+        }
+        if (notNaN && Double.isNaN(value)) {
+            errors.add(NAN_ERROR);
+        }
+    }
+
+    public static class Builder {
+
+        private boolean hasMin = false;
+        private double min;
+        private boolean hasMax = false;
+        private double max;
+        private boolean notNaN = false;
+        private boolean notNull = false;
+
+        private Builder() {
+        }
+
+        /**
+         * Values must be strictly greater than min, like {@link Rules#minD(Double)}.
+         */
+        public Builder min(double min) {
+            this.hasMin = true;
+            this.min = min;
+            return this;
+        }
+
+        /**
+         * Values must be strictly lesser than max, like {@link Rules#maxD(Double)}.
+         */
+        public Builder max(double max) {
+            this.hasMax = true;
+            this.max = max;
+            return this;
+        }
+
+        public Builder notNaN() {
+            this.notNaN = true;
+            return this;
+        }
+
+        public Builder notNull() {
+            this.notNull = true;
+            return this;
+        }
+
+        public DoubleColumnRule build() {
+            return new DoubleColumnRule(this);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.reactivecouchbase.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.DoublePredicate;
+
+/**
+ * A rule working on primitive {@code double}s. {@link #test(double)} neither boxes nor allocates, errors are only built on failure.
+ * As a {@code Rule<Double, Double>} it can be used anywhere a boxed rule is expected.
+ */
+public abstract class DoubleRule extends Rule<Double, Double> {
+
+    public abstract boolean test(double value);
+
+    /**
+     * Errors (possibly shared, do not modify) for a value that does not pass {@link #test(double)}.
+     */
+    public abstract List<ValidationError> errors(double value);
+
+    @Override
+    public Validation<Double, ValidationError> validate(Double in) {
+        if (in == null) {
+            return Validation.failure(ValidationError.withCode("error.required", "Input can't be null"));
+        }
+        if (test(in)) {
+            return Validation.success(in);
+        }
+        return Validation.failure(new ArrayList<>(errors(in)));
+    }
+
+    public DoubleRule and(final DoubleRule other) {
+        final DoubleRule self = this;
+        return new DoubleRule() {
+            @Override
+            public boolean test(double value) {
+                return self.test(value) && other.test(value);
+            }
+
+            @Override
+            public List<ValidationError> errors(double value) {
+                List<ValidationError> errors = new ArrayList<>();
+                if (!self.test(value)) {
+                    errors.addAll(self.errors(value));
+                }
+                if (!other.test(value)) {
+                    errors.addAll(other.errors(value));
+                }
+                return errors;
+            }
+        };
+    }
+
+    public static DoubleRule of(final String errorMessage, final DoublePredicate predicate) {
+        final List<ValidationError> errors = Collections.singletonList(ValidationError.of(errorMessage));
+        return new DoubleRule() {
+            @Override
+            public boolean test(double value) {
+                return predicate.test(value);
+            }
+
+            @Override
+            public List<ValidationError> errors(double value) {
+                return errors;
+            }
+        };
+    }
+
+    public static DoubleRule min(final double min) {
+        final List<ValidationError> errors = Collections.singletonList(ValidationError.withCode("error.min", "The specified value is smaller than {}", min));
+        return new DoubleRule() {
+            @Override
+            public boolean test(double value) {
+                return value > min;
+            }
+
+            @Override
+            public List<ValidationError> errors(double value) {
+                return errors;
+            }
+        };
+    }
+
+    public static DoubleRule max(final double max) {
+        final List<ValidationError> errors = Collections.singletonList(ValidationError.withCode("error.max", "The specified value is bigger than {}", max));
+        return new DoubleRule() {
+            @Override
+            public boolean test(double value) {
+                return value < max;
+            }
+
+            @Override
+            public List<ValidationError> errors(double value) {
+                return errors;
+            }
+        };
+    }
+
+    public static DoubleRule between(final double min, final double max) {
+        return min(min).and(max(max));
+    }
+
+    public static DoubleRule finite() {
+        final List<ValidationError> errors = Collections.singletonList(ValidationError.withCode("error.finite", "The specified value is not a finite number"));
+        return new DoubleRule() {
+            @Override
+            public boolean test(double value) {
+                return !Double.isNaN(value) && !Double.isInfinite(value);
+            }
+
+            @Override
+            public List<ValidationError> errors(double value) {
+                return errors;
+            }
+        };
+    }
+}
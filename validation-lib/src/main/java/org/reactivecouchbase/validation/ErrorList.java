@@ -0,0 +1,138 @@
+package org.reactivecouchbase.validation;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Immutable list of errors used by {@link ValidationFailure}.
+ *
+ * Concatenation is O(1): it only links the two lists together (rope). The structure is flattened once, the first
+ * time elements are accessed, so accumulating errors through nested combinators costs linear time in the
+ * number of errors instead of copying them at every level.
+ * {@link #of(List)} copies the given list, later changes to it are not visible through the ErrorList. Lists of
+ * this package that never change once built and render their errors lazily ({@link IndexedErrors}) are wrapped.
+ */
+public final class ErrorList<E> extends AbstractList<E> {
+
+    private static final ErrorList<Object> EMPTY = new ErrorList<>(new Object[0]);
+
+    private final Object[] leaf;
+    private final List<? extends E> view;
+    private final ErrorList<E> left;
+    private final ErrorList<E> right;
+    private final int size;
+    private volatile Object[] flat;
+
+    private ErrorList(Object[] leaf) {
+        this.leaf = leaf;
+        this.view = null;
+        this.left = null;
+        this.right = null;
+        this.size = leaf.length;
+    }
+
+    private ErrorList(List<? extends E> view) {
+        this.leaf = null;
+        this.view = view;
+        this.left = null;
+        this.right = null;
+        this.size = view.size();
+    }
+
+    private ErrorList(ErrorList<E> left, ErrorList<E> right) {
+        this.leaf = null;
+        this.view = null;
+        this.left = left;
+        this.right = right;
+        this.size = left.size + right.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> ErrorList<E> empty() {
+        return (ErrorList<E>) EMPTY;
+    }
+
+    public static <E> ErrorList<E> of(E error) {
+        return new ErrorList<>(new Object[]{error});
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> ErrorList<E> of(List<? extends E> errors) {
+        if (errors instanceof ErrorList) {
+            return (ErrorList<E>) errors;
+        }
+        if (errors == null || errors.isEmpty()) {
+            return empty();
+        }
+        if (errors instanceof IndexedErrors) {
+            return new ErrorList<>((List<? extends E>) errors);
+        }
+        return new ErrorList<>(errors.toArray());
+    }
+
+    public static <E> ErrorList<E> concat(List<? extends E> first, List<? extends E> second) {
+        return ErrorList.<E>of(first).concat(second);
+    }
+
+    public ErrorList<E> concat(List<? extends E> other) {
+        ErrorList<E> that = of(other);
+        if (that.size == 0) {
+            return this;
+        }
+        if (size == 0) {
+            return that;
+        }
+        return new ErrorList<>(this, that);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (leaf != null) {
+            return (E) leaf[index];
+        }
+        if (view != null) {
+            return view.get(index);
+        }
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return (E) flatten()[index];
+    }
+
+    private Object[] flatten() {
+        Object[] result = flat;
+        if (result == null) {
+            result = new Object[size];
+            int position = 0;
+            Deque<ErrorList<E>> stack = new ArrayDeque<>();
+            stack.push(this);
+            while (!stack.isEmpty()) {
+                ErrorList<E> node = stack.pop();
+                if (node.leaf != null) {
+                    System.arraycopy(node.leaf, 0, result, position, node.size);
+                    position += node.size;
+                } else if (node.view != null) {
+                    for (E error : node.view) {
+                        result[position++] = error;
+                    }
+                } else if (node.flat != null) {
+                    System.arraycopy(node.flat, 0, result, position, node.size);
+                    position += node.size;
+                } else {
+                    stack.push(node.right);
+                    stack.push(node.left);
+                }
+            }
+            flat = result;
+        }
+        return result;
+    }
+}
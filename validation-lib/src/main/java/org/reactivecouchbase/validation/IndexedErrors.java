@@ -0,0 +1,70 @@
+package org.reactivecouchbase.validation;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Errors of the elements of a collection, each error being reported under the index of its element ({@code / [2] / ...}).
+ *
+ * Adding the errors of an element only records its index, errors are all repathed the first time one is read. An
+ * instance is only modified before being handed out, after that it may be read by several threads: the repathed
+ * errors are published through a volatile field once complete.
+ */
+final class IndexedErrors extends AbstractList<ValidationError> {
+
+    private int[] indexes = new int[4];
+    private List<? extends ValidationError>[] segments = newSegments(4);
+    private int count = 0;
+    private int size = 0;
+    private volatile ValidationError[] resolved;
+
+    @SuppressWarnings("unchecked")
+    private static List<? extends ValidationError>[] newSegments(int length) {
+        return (List<? extends ValidationError>[]) new List<?>[length];
+    }
+
+    void add(int index, List<? extends ValidationError> errors) {
+        if (errors.isEmpty()) {
+            return;
+        }
+        if (count == indexes.length) {
+            indexes = Arrays.copyOf(indexes, count * 2);
+            segments = Arrays.copyOf(segments, count * 2);
+        }
+        size += errors.size();
+        indexes[count] = index;
+        segments[count] = errors;
+        count++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public ValidationError get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        }
+        ValidationError[] errors = resolved;
+        if (errors == null) {
+            errors = resolve();
+            resolved = errors;
+        }
+        return errors[i];
+    }
+
+    private ValidationError[] resolve() {
+        ValidationError[] errors = new ValidationError[size];
+        int position = 0;
+        for (int segment = 0; segment < count; segment++) {
+            Paths.Path path = Paths.Root.atIndex(indexes[segment]);
+            for (ValidationError original : segments[segment]) {
+                errors[position++] = original.repath(path.compose(original.path));
+            }
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,26 @@
+package org.reactivecouchbase.validation;
+
+/**
+ * Thrown by a predicate whose input is too large to be checked, ie. a regex overflowing the stack. Rules report the
+ * carried error instead of their own, as the input was not found invalid. Stackless, like {@link DeadlineExceededException}.
+ */
+class InputTooLargeException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ValidationError error;
+
+    InputTooLargeException(ValidationError error) {
+        super(null, null, false, false);
+        this.error = error;
+    }
+
+    @Override
+    public String getMessage() {
+        return error.message();
+    }
+
+    ValidationError getError() {
+        return error;
+    }
+}
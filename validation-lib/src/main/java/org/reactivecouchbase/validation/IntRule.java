@@ -0,0 +1,132 @@
+package org.reactivecouchbase.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * A rule working on primitive {@code int}s. {@link #test(int)} neither boxes nor allocates, errors are only built on failure.
+ * As a {@code Rule<Integer, Integer>} it can be used anywhere a boxed rule is expected.
+ */
+public abstract class IntRule extends Rule<Integer, Integer> {
+
+    public abstract boolean test(int value);
+
+    /**
+     * Errors (possibly shared, do not modify) for a value that does not pass {@link #test(int)}.
+     */
+    public abstract List<ValidationError> errors(int value);
+
+    @Override
+    public Validation<Integer, ValidationError> validate(Integer in) {
+        if (in == null) {
+            return Validation.failure(ValidationError.withCode("error.required", "Input can't be null"));
+        }
+        if (test(in)) {
+            return Validation.success(in);
+        }
+        return Validation.failure(new ArrayList<>(errors(in)));
+    }
+
+    public IntRule and(final IntRule other) {
+        final IntRule self = this;
+        return new IntRule() {
+            @Override
+            public boolean test(int value) {
+                return self.test(value) && other.test(value);
+            }
+
+            @Override
+            public List<ValidationError> errors(int value) {
+                List<ValidationError> errors = new ArrayList<>();
+                if (!self.test(value)) {
+                    errors.addAll(self.errors(value));
+                }
+                if (!other.test(value)) {
+                    errors.addAll(other.errors(value));
+                }
+                return errors;
+            }
+        };
+    }
+
+    public static IntRule of(final String errorMessage, final IntPredicate predicate) {
+        final List<ValidationError> errors = Collections.singletonList(ValidationError.of(errorMessage));
+        return new IntRule() {
+            @Override
+            public boolean test(int value) {
+                return predicate.test(value);
+            }
+
+            @Override
+            public List<ValidationError> errors(int value) {
+                return errors;
+            }
+        };
+    }
+
+    public static IntRule min(final int min) {
+        final List<ValidationError> errors = Collections.singletonList(ValidationError.withCode("error.min", "The specified value is smaller than {}", min));
+        return new IntRule() {
+            @Override
+            public boolean test(int value) {
+                return value > min;
+            }
+
+            @Override
+            public List<ValidationError> errors(int value) {
+                return errors;
+            }
+        };
+    }
+
+    public static IntRule max(final int max) {
+        final List<ValidationError> errors = Collections.singletonList(ValidationError.withCode("error.max", "The specified value is bigger than {}", max));
+        return new IntRule() {
+            @Override
+            public boolean test(int value) {
+                return value < max;
+            }
+
+            @Override
+            public List<ValidationError> errors(int value) {
+                return errors;
+            }
+        };
+    }
+
+    public static IntRule between(final int min, final int max) {
+        return min(min).and(max(max));
+    }
+
+    public static IntRule greaterThan(final int min) {
+        final List<ValidationError> errors = Collections.singletonList(ValidationError.withCode("error.greaterThan", "The specified value is lesser than {}", min));
+        return new IntRule() {
+            @Override
+            public boolean test(int value) {
+                return value > min;
+            }
+
+            @Override
+            public List<ValidationError> errors(int value) {
+                return errors;
+            }
+        };
+    }
+
+    public static IntRule lesserThan(final int max) {
+        final List<ValidationError> errors = Collections.singletonList(ValidationError.withCode("error.lesserThan", "The specified value is greater than {}", max));
+        return new IntRule() {
+            @Override
+            public boolean test(int value) {
+                return value < max;
+            }
+
+            @Override
+            public List<ValidationError> errors(int value) {
+                return errors;
+            }
+        };
+    }
+}
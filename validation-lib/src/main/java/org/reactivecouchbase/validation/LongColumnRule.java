@@ -0,0 +1,126 @@
+package org.reactivecouchbase.validation;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Validates a whole {@code long[]} column without boxing, ie. {@code LongColumnRule.builder().min(0L).max(100L).build()}
+ * checks the same bounds as {@code Rules.list(Rules.betweenL(0L, 100L))} on every row.
+ *
+ * Rows are checked 64 at a time with branch free comparisons, each block producing one word of the failures bitmap,
+ * which lets the JIT vectorize the loop. Null rows are given as a bitmap (bit set for null); they are skipped, or
+ * fail if the column is {@link Builder#notNull()}.
+ */
+public class LongColumnRule extends Rule<long[], long[]> {
+
+    private static final ValidationError NULL_ERROR = ValidationError.withCode("error.required", "Input can't be null");
+
+    private final boolean hasMin;
+    private final long min;
+    private final boolean hasMax;
+    private final long max;
+    private final boolean notNull;
+    private final ValidationError minError;
+    private final ValidationError maxError;
+
+    private LongColumnRule(Builder builder) {
+        this.hasMin = builder.hasMin;
+        this.min = builder.min;
+        this.hasMax = builder.hasMax;
+        this.max = builder.max;
+        this.notNull = builder.notNull;
+        this.minError = ValidationError.withCode("error.min", "The specified value is smaller than {}", min);
+        this.maxError = ValidationError.withCode("error.max", "The specified value is bigger than {}", max);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Validation<long[], ValidationError> validate(long[] in) {
+        if (in == null) {
+            return Validation.failure(NULL_ERROR);
+        }
+        return check(in).validation();
+    }
+
+    public ColumnValidation<long[]> check(long[] values) {
+        return check(values, new BitSet());
+    }
+
+    public ColumnValidation<long[]> check(final long[] values, final BitSet nulls) {
+        int size = values.length;
+        long[] nullWords = nulls.toLongArray();
+        long[] words = new long[(size + 63) >>> 6];
+        final boolean checkMin = hasMin;
+        final long minValue = min;
+        final boolean checkMax = hasMax;
+        final long maxValue = max;
+        for (int w = 0; w < words.length; w++) {
+            int base = w << 6;
+            int end = Math.min(base + 64, size);
+            long mask = 0L;
+            for (int i = base; i < end; i++) {
+                long value = values[i];
+                boolean failed = (checkMin & value <= minValue) | (checkMax & value >= maxValue);
+                mask |= (failed ? 1L : 0L) << (i - base);
+            }
+            long nullWord = w < nullWords.length ? nullWords[w] & (-1L >>> (64 - (end - base))) : 0L;
+            words[w] = notNull ? mask | nullWord : mask & ~nullWord;
+        }
+        return new ColumnValidation<>(values, BitSet.valueOf(words), (row, errors) -> addErrors(values[row], nulls.get(row), errors));
+    }
+
+    private void addErrors(long value, boolean isNull, List<ValidationError> errors) {
+        if (isNull) {
+            errors.add(NULL_ERROR);
+            return;
+        }
+        if (hasMin && value <= min) {
+            errors.add(minError);
+        }
+        if (hasMax && value >= max) {
+            errors.add(maxError);
+        }
+    }
+
+    public static class Builder {
+
+        private boolean hasMin = false;
+        private long min;
+        private boolean hasMax = false;
+        private long max;
+        private boolean notNull = false;
+
+        private Builder() {
+        }
+
+        /**
+         * Values must be strictly greater than min, like {@link Rules#minL(Long)}.
+         */
+        public Builder min(long min) {
+            this.hasMin = true;
+            this.min = min;
+            return this;
+        }
+
+        /**
+         * Values must be strictly lesser than max, like {@link Rules#maxL(Long)}.
+         */
+        public Builder max(long max) {
+            this.hasMax = true;
+            this.max = max;
+            return this;
+        }
+
+        public Builder notNull() {
+            this.notNull = true;
+            return this;
+        }
+
+        public LongColumnRule build() {
+            return new LongColumnRule(this);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package org.reactivecouchbase.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongPredicate;
+
+/**
+ * A rule working on primitive {@code long}s. {@link #test(long)} neither boxes nor allocates, errors are only built on failure.
+ * As a {@code Rule<Long, Long>} it can be used anywhere a boxed rule is expected.
+ */
+public abstract class LongRule extends Rule<Long, Long> {
+
+    public abstract boolean test(long value);
+
+    /**
+     * Errors (possibly shared, do not modify) for a value that does not pass {@link #test(long)}.
+     */
+    public abstract List<ValidationError> errors(long value);
+
+    @Override
+    public Validation<Long, ValidationError> validate(Long in) {
+        if (in == null) {
+            return Validation.failure(ValidationError.withCode("error.required", "Input can't be null"));
+        }
+        if (test(in)) {
+            return Validation.success(in);
+        }
+        return Validation.failure(new ArrayList<>(errors(in)));
+    }
+
+    public LongRule and(final LongRule other) {
+        final LongRule self = this;
+        return new LongRule() {
+            @Override
+            public boolean test(long value) {
+                return self.test(value) && other.test(value);
+            }
+
+            @Override
+            public List<ValidationError> errors(long value) {
+                List<ValidationError> errors = new ArrayList<>();
+                if (!self.test(value)) {
+                    errors.addAll(self.errors(value));
+                }
+                if (!other.test(value)) {
+                    errors.addAll(other.errors(value));
+                }
+                return errors;
+            }
+        };
+    }
+
+    public static LongRule of(final String errorMessage, final LongPredicate predicate) {
+        final List<ValidationError> errors = Collections.singletonList(ValidationError.of(errorMessage));
+        return new LongRule() {
+            @Override
+            public boolean test(long value) {
+                return predicate.test(value);
+            }
+
+            @Override
+            public List<ValidationError> errors(long value) {
+                return errors;
+            }
+        };
+    }
+
+    public static LongRule min(final long min) {
+        final List<ValidationError> errors = Collections.singletonList(ValidationError.withCode("error.min", "The specified value is smaller than {}", min));
+        return new LongRule() {
+            @Override
+            public boolean test(long value) {
+                return value > min;
+            }
+
+            @Override
+            public List<ValidationError> errors(long value) {
+                return errors;
+            }
+        };
+    }
+
+    public static LongRule max(final long max) {
+        final List<ValidationError> errors = Collections.singletonList(ValidationError.withCode("error.max", "The specified value is bigger than {}", max));
+        return new LongRule() {
+            @Override
+            public boolean test(long value) {
+                return value < max;
+            }
+
+            @Override
+            public List<ValidationError> errors(long value) {
+                return errors;
+            }
+        };
+    }
+
+    public static LongRule between(final long min, final long max) {
+        return min(min).and(max(max));
+    }
+}
@@ -0,0 +1,42 @@
+package org.reactivecouchbase.validation;
+
+import java.util.ResourceBundle;
+
+/**
+ * Turns the code, template and arguments of a {@link ValidationError} into a readable message.
+ * Templates use {@code {}} as placeholder for arguments, in order.
+ */
+public interface MessageResolver {
+
+    String resolve(String code, String template, Object[] args);
+
+    MessageResolver DEFAULT = (code, template, args) -> format(template, args);
+
+    /**
+     * Look up templates by error code in the bundle, fall back to the error's own template.
+     */
+    static MessageResolver fromBundle(final ResourceBundle bundle) {
+        return (code, template, args) -> {
+            if (code != null && bundle.containsKey(code)) {
+                return format(bundle.getString(code), args);
+            }
+            return format(template, args);
+        };
+    }
+
+    static String format(String template, Object[] args) {
+        if (template == null || args == null || args.length == 0) {
+            return template;
+        }
+        StringBuilder builder = new StringBuilder(template.length() + 16 * args.length);
+        int argIndex = 0;
+        int from = 0;
+        int placeholder = template.indexOf("{}");
+        while (placeholder != -1 && argIndex < args.length) {
+            builder.append(template, from, placeholder).append(args[argIndex++]);
+            from = placeholder + 2;
+            placeholder = template.indexOf("{}", from);
+        }
+        return builder.append(template, from, template.length()).toString();
+    }
+}
@@ -0,0 +1,183 @@
+package org.reactivecouchbase.validation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Rules running blocking validators (remote lookups, etc.) concurrently, one thread per unit of work.
+ *
+ * By default units of work run on virtual threads when the JVM provides them (JDK 21+), on a cached pool of daemon
+ * threads otherwise. At most {@code maxConcurrency} units run at the same time, and every unit not done when the
+ * deadline expires is cancelled and reported as an {@code error.timeout} error. Errors are accumulated in the same
+ * order, and at the same paths, as with the sequential {@link Rules#list(Rule)} and {@link Rules#combine(Rule[])}.
+ */
+public class ParallelRules {
+
+    private static volatile ExecutorService defaultExecutor;
+
+    private ParallelRules() {
+    }
+
+    /**
+     * A virtual thread per task executor if available, a cached pool of daemon threads otherwise.
+     */
+    public static ExecutorService defaultExecutor() {
+        ExecutorService executor = defaultExecutor;
+        if (executor == null) {
+            synchronized (ParallelRules.class) {
+                executor = defaultExecutor;
+                if (executor == null) {
+                    executor = createDefaultExecutor();
+                    defaultExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private static ExecutorService createDefaultExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (Exception e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "validation-parallel-rules");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public static <I, O> Rule<Iterable<I>, List<O>> list(final Rule<I, O> rule, final int maxConcurrency, final Duration timeout) {
+        return list(defaultExecutor(), rule, maxConcurrency, timeout);
+    }
+
+    public static <I, O> Rule<Iterable<I>, List<O>> list(final ExecutorService executor, final Rule<I, O> rule, final int maxConcurrency, final Duration timeout) {
+        return new Rule<Iterable<I>, List<O>>() {
+            @Override
+            public Validation<List<O>, ValidationError> validate(Iterable<I> ins) {
+                List<Callable<Validation<O, ValidationError>>> tasks = new ArrayList<>();
+                for (final I in : ins) {
+                    tasks.add(() -> rule.validate(in));
+                }
+                List<O> outs = new ArrayList<>(tasks.size());
+                IndexedErrors errors = new IndexedErrors();
+                int index = 0;
+                for (Validation<O, ValidationError> validation : runAll(executor, tasks, maxConcurrency, timeout)) {
+                    if (validation.isSuccess()) {
+                        outs.add(validation.getSuccess());
+                    } else {
+                        errors.add(index, validation.getFailures());
+                    }
+                    index++;
+                }
+                if (errors.isEmpty()) {
+                    return Validation.success(outs);
+                }
+                return Validation.failure(errors);
+            }
+        };
+    }
+
+    @SafeVarargs
+    public static <I> Rule<I, I> combine(final int maxConcurrency, final Duration timeout, final Rule<I, I>... rules) {
+        List<Rule<I, I>> list = new ArrayList<>(rules.length);
+        for (Rule<I, I> rule : rules) {
+            list.add(rule);
+        }
+        return combine(defaultExecutor(), maxConcurrency, timeout, list);
+    }
+
+    /**
+     * Like {@link Rules#combine(Iterable)}, evaluating each branch on its own thread.
+     */
+    public static <I> Rule<I, I> combine(final ExecutorService executor, final int maxConcurrency, final Duration timeout, final List<Rule<I, I>> rules) {
+        return new Rule<I, I>() {
+            @Override
+            public Validation<I, ValidationError> validate(final I in) {
+                List<Callable<Validation<I, ValidationError>>> tasks = new ArrayList<>(rules.size());
+                for (final Rule<I, I> rule : rules) {
+                    tasks.add(() -> rule.validate(in));
+                }
+                Validation<I, ValidationError> last = Validation.success(in);
+                ErrorList<ValidationError> errors = ErrorList.empty();
+                for (Validation<I, ValidationError> validation : runAll(executor, tasks, maxConcurrency, timeout)) {
+                    if (validation.isFailure()) {
+                        errors = errors.concat(validation.getFailures());
+                    }
+                    last = validation;
+                }
+                if (errors.isEmpty()) {
+                    return last;
+                }
+                return Validation.failure(errors);
+            }
+        };
+    }
+
+    private static <O> List<Validation<O, ValidationError>> runAll(ExecutorService executor, List<Callable<Validation<O, ValidationError>>> tasks, int maxConcurrency, Duration timeout) {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        final Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<Validation<O, ValidationError>>> futures = new ArrayList<>(tasks.size());
+        boolean interrupted = false;
+        try {
+            for (final Callable<Validation<O, ValidationError>> task : tasks) {
+                if (interrupted || !permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    futures.add(null);
+                    continue;
+                }
+                futures.add(executor.submit(() -> {
+                    try {
+                        return task.call();
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;
+            while (futures.size() < tasks.size()) {
+                futures.add(null);
+            }
+        }
+        List<Validation<O, ValidationError>> validations = new ArrayList<>(tasks.size());
+        for (Future<Validation<O, ValidationError>> future : futures) {
+            validations.add(await(future, deadline, timeout, interrupted));
+            interrupted = interrupted || Thread.currentThread().isInterrupted();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return validations;
+    }
+
+    private static <O> Validation<O, ValidationError> await(Future<Validation<O, ValidationError>> future, long deadline, Duration timeout, boolean interrupted) {
+        if (future == null || interrupted) {
+            if (future != null) {
+                future.cancel(true);
+            }
+            return Validation.failure(Deadline.timeoutError(timeout));
+        }
+        try {
+            return future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return Validation.failure(Deadline.timeoutError(timeout));
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            return Validation.failure(Deadline.timeoutError(timeout));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            return Validation.failure(new ValidationError(cause instanceof Exception ? (Exception) cause : e));
+        }
+    }
+}
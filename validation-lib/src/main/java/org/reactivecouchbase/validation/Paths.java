@@ -3,8 +3,8 @@ package org.reactivecouchbase.validation;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public class Paths {
 
@@ -59,6 +59,7 @@ public class Paths {
 
     public static class IndexPathNode implements PathNode {
         public final int index;
+        private String string;
 
         public IndexPathNode(int index) {
             this.index = index;
@@ -66,7 +67,12 @@ public class Paths {
 
         @Override
         public String stringify() {
-            return "[" + index + "]";
+            String s = string;
+            if (s == null) {
+                s = "[" + index + "]";
+                string = s;
+            }
+            return s;
         }
 
         @Override
@@ -95,10 +101,100 @@ public class Paths {
         }
     }
 
+    /**
+     * Matches every element of an array. Only meaningful when registering rules (see {@link DocumentRule}),
+     * errors are always reported at concrete indexes.
+     */
+    public static class WildcardIndexPathNode implements PathNode {
+
+        private WildcardIndexPathNode() {
+        }
+
+        @Override
+        public String stringify() {
+            return "[*]";
+        }
+
+        @Override
+        public String toString() {
+            return stringify();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof WildcardIndexPathNode;
+        }
+
+        @Override
+        public int hashCode() {
+            return -1;
+        }
+    }
+
+    public static final WildcardIndexPathNode AnyIndex = new WildcardIndexPathNode();
+
     public static final Path Root = new Path(empty(PathNode.class));
 
+    private static final int CACHED_INDEXES = 1024;
+
+    private static final int MAX_INTERNED_KEYS = 8192;
+
+    private static final IndexPathNode[] indexNodes = new IndexPathNode[CACHED_INDEXES];
+
+    private static final ConcurrentHashMap<String, KeyPathNode> keyNodes = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < CACHED_INDEXES; i++) {
+            indexNodes[i] = new IndexPathNode(i);
+        }
+    }
+
+    /**
+     * Node for a key, shared with the rules that declared it (see {@link #parse(String)}). Other keys, ie. keys read
+     * from the validated data, get fresh nodes and are never retained.
+     */
+    public static KeyPathNode key(String key) {
+        if (key == null) {
+            return new KeyPathNode(null);
+        }
+        KeyPathNode node = keyNodes.get(key);
+        return node != null ? node : new KeyPathNode(key);
+    }
+
+    /**
+     * Canonical node for a key declared by a rule. Keys are interned until the cache is full, new keys then get fresh nodes.
+     */
+    static KeyPathNode declaredKey(String key) {
+        if (key == null) {
+            return new KeyPathNode(null);
+        }
+        KeyPathNode node = keyNodes.get(key);
+        if (node == null) {
+            node = new KeyPathNode(key);
+            if (keyNodes.size() < MAX_INTERNED_KEYS) {
+                KeyPathNode existing = keyNodes.putIfAbsent(key, node);
+                if (existing != null) {
+                    node = existing;
+                }
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Node for an index, shared for indexes below 1024.
+     */
+    public static IndexPathNode index(int index) {
+        if (index >= 0 && index < CACHED_INDEXES) {
+            return indexNodes[index];
+        }
+        return new IndexPathNode(index);
+    }
+
     private static final Pattern fieldArraySelector = Pattern.compile("(.+)\\[(\\d)+\\]");
 
+    private static final Pattern fieldWildcardSelector = Pattern.compile("(.+)\\[\\*\\]");
+
     private static final Pattern arraySelector = Pattern.compile("\\[(\\d)+\\]");
 
     private static final Pattern dotSplitter = Pattern.compile("\\.");
@@ -111,17 +207,22 @@ public class Paths {
             String[] partsArray = dotSplitter.split(query);
             List<String> parts = partsArray == null ? new ArrayList<String>() : Arrays.asList(partsArray);
             for (String part : parts) {
-                if (fieldArraySelector.matcher(part).matches()) {
+                if (fieldWildcardSelector.matcher(part).matches()) {
+                    pathes.add(declaredKey(part.substring(0, part.length() - 3)));
+                    pathes.add(AnyIndex);
+                } else if ("[*]".equals(part)) {
+                    pathes.add(AnyIndex);
+                } else if (fieldArraySelector.matcher(part).matches()) {
                     String[] subParts = squareBracketSplitter.split(part);
                     String field = subParts[0];
                     Integer index = Integer.valueOf(subParts[1].replace("]", ""));
-                    pathes.add(new KeyPathNode(field));
-                    pathes.add(new IndexPathNode(index));
+                    pathes.add(declaredKey(field));
+                    pathes.add(index(index));
                 } else if (part.startsWith("[") && arraySelector.matcher(part).matches()) {
                     Integer index = Integer.valueOf(part.replace("[", "").replace("]", ""));
-                    pathes.add(new IndexPathNode(index));
+                    pathes.add(index(index));
                 } else {
-                    pathes.add(new KeyPathNode(part));
+                    pathes.add(declaredKey(part));
                 }
             }
         } catch (Exception e) {
@@ -130,8 +231,13 @@ public class Paths {
         return new Path(pathes);
     }
 
+    /**
+     * The nodes of a path must not be modified once it is built, its hash and its rendering are computed once and cached.
+     */
     public static class Path {
         public final List<PathNode> path;
+        private int hash;
+        private String string;
 
         public Path(List<PathNode> path) {
             this.path = path;
@@ -145,30 +251,55 @@ public class Paths {
             return andThen(k);
         }
 
+        public Path eachIndex() {
+            return append(AnyIndex);
+        }
+
         public Path andThen(int index) {
-            List<PathNode> p = new ArrayList<>(path);
-            p.add(new IndexPathNode(index));
-            return new Path(p);
+            return append(index(index));
         }
 
         public Path andThen(String key) {
-            List<PathNode> p = new ArrayList<>(path);
-            p.add(new KeyPathNode(key));
+            return append(key(key));
+        }
+
+        private Path append(PathNode node) {
+            List<PathNode> p = new ArrayList<>(path.size() + 1);
+            p.addAll(path);
+            p.add(node);
             return new Path(p);
         }
 
         public Path compose(Path other) {
-            List<PathNode> p = new ArrayList<>(path);
+            List<PathNode> p = new ArrayList<>(path.size() + other.path.size());
+            p.addAll(path);
             p.addAll(other.path);
             return new Path(p);
         }
 
+        public boolean startsWith(Path prefix) {
+            return prefix.path.size() <= path.size() && path.subList(0, prefix.path.size()).equals(prefix.path);
+        }
+
         @Override
         public String toString() {
+            String s = string;
+            if (s == null) {
+                s = render();
+                string = s;
+            }
+            return s;
+        }
+
+        private String render() {
             if (path.isEmpty()) {
                 return "/";
             }
-            return "/ " + path.stream().map(Object::toString).collect(Collectors.joining(" / "));
+            StringBuilder builder = new StringBuilder(path.size() * 8);
+            for (PathNode node : path) {
+                builder.append(builder.length() == 0 ? "/ " : " / ").append(node.toString());
+            }
+            return builder.toString();
         }
 
         @Override
@@ -180,12 +311,20 @@ public class Paths {
                 return false;
             }
             Path path1 = (Path) o;
+            if (hash != 0 && path1.hash != 0 && hash != path1.hash) {
+                return false;
+            }
             return !(path != null ? !path.equals(path1.path) : path1.path != null);
         }
 
         @Override
         public int hashCode() {
-            return path != null ? path.hashCode() : 0;
+            int h = hash;
+            if (h == 0 && path != null) {
+                h = path.hashCode();
+                hash = h;
+            }
+            return h;
         }
     }
 }
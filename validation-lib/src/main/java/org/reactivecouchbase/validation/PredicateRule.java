@@ -0,0 +1,79 @@
+package org.reactivecouchbase.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Rule built by {@link Rule#validateWith(ValidationError, Predicate)}.
+ *
+ * Combining two of these fuses them into a single rule that does one null check and evaluates every predicate
+ * in one pass, while producing exactly the errors the unfused combination would.
+ * Errors are created once with the rule and shared between failures.
+ */
+final class PredicateRule<I> extends Rule<I, I> {
+
+    private final ValidationError[] errors;
+    private final ValidationError[] nullErrors;
+    private final Predicate<? super I>[] predicates;
+
+    @SuppressWarnings("unchecked")
+    PredicateRule(ValidationError error, Predicate<? super I> predicate) {
+        this(
+            new ValidationError[]{error},
+            new ValidationError[]{ValidationError.at(error.path, "error.required", "Input can't be null")},
+            (Predicate<? super I>[]) new Predicate<?>[]{predicate}
+        );
+    }
+
+    private PredicateRule(ValidationError[] errors, ValidationError[] nullErrors, Predicate<? super I>[] predicates) {
+        this.errors = errors;
+        this.nullErrors = nullErrors;
+        this.predicates = predicates;
+    }
+
+    PredicateRule<I> fuse(PredicateRule<I> other) {
+        int size = predicates.length;
+        int otherSize = other.predicates.length;
+        ValidationError[] newErrors = Arrays.copyOf(errors, size + otherSize);
+        ValidationError[] newNullErrors = Arrays.copyOf(nullErrors, size + otherSize);
+        Predicate<? super I>[] newPredicates = Arrays.copyOf(predicates, size + otherSize);
+        System.arraycopy(other.errors, 0, newErrors, size, otherSize);
+        System.arraycopy(other.nullErrors, 0, newNullErrors, size, otherSize);
+        System.arraycopy(other.predicates, 0, newPredicates, size, otherSize);
+        return new PredicateRule<>(newErrors, newNullErrors, newPredicates);
+    }
+
+    @Override
+    public Validation<I, ValidationError> validate(I in) {
+        if (in == null) {
+            return Validation.failure(new ArrayList<>(Arrays.asList(nullErrors)));
+        }
+        List<ValidationError> failures = null;
+        for (int i = 0; i < predicates.length; i++) {
+            ValidationError error = null;
+            try {
+                if (!predicates[i].test(in)) {
+                    error = errors[i];
+                }
+            } catch (DeadlineExceededException e) {
+                error = e.getError().repath(errors[i].path);
+            } catch (InputTooLargeException e) {
+                error = e.getError().repath(errors[i].path);
+            } catch (Exception e) {
+                error = new ValidationError(e);
+            }
+            if (error != null) {
+                if (failures == null) {
+                    failures = new ArrayList<>(predicates.length - i);
+                }
+                failures.add(error);
+            }
+        }
+        if (failures == null) {
+            return Validation.success(in);
+        }
+        return Validation.failure(failures);
+    }
+}
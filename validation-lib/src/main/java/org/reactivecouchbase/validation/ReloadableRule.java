@@ -0,0 +1,36 @@
+package org.reactivecouchbase.validation;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A rule that can be replaced while in use. A validation runs entirely on the rule that was current when it started,
+ * {@link #reload(Rule)} never waits for running validations and never blocks new ones.
+ */
+public class ReloadableRule<I, O> extends Rule<I, O> {
+
+    private final AtomicReference<Rule<I, O>> current;
+
+    private ReloadableRule(Rule<I, O> rule) {
+        this.current = new AtomicReference<>(rule);
+    }
+
+    public static <I, O> ReloadableRule<I, O> of(Rule<I, O> rule) {
+        return new ReloadableRule<>(rule);
+    }
+
+    public Rule<I, O> current() {
+        return current.get();
+    }
+
+    /**
+     * Swap the rule, returns the previous one.
+     */
+    public Rule<I, O> reload(Rule<I, O> rule) {
+        return current.getAndSet(rule);
+    }
+
+    @Override
+    public Validation<O, ValidationError> validate(I in) {
+        return current.get().validate(in);
+    }
+}
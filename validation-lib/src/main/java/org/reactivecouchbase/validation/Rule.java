@@ -2,10 +2,11 @@ package org.reactivecouchbase.validation;
 
 import org.reactivecouchbase.functional.Option;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 
 public abstract class Rule<I, O> implements RuleLike<I, O> {
@@ -33,7 +34,7 @@ public abstract class Rule<I, O> implements RuleLike<I, O> {
                 if (validation.isFailure()) {
                     List<ValidationError> errs = validation.getFailures()
                             .stream()
-                            .map(input -> new ValidationError(input.path.compose(path), input.message))
+                            .map(input -> input.repath(input.path.compose(path)))
                             .collect(Collectors.toList());
                     return Validation.failure(errs);
                 }
@@ -42,6 +43,52 @@ public abstract class Rule<I, O> implements RuleLike<I, O> {
         };
     }
 
+    /**
+     * Fail with an {@code error.timeout} error if the rule did not complete in time. Rules cooperate through
+     * {@link Deadline}: regex rules and collection rules stop as soon as the deadline passed.
+     */
+    public Rule<I, O> withDeadline(final Duration timeout) {
+        final Rule<I, O> self = this;
+        return new Rule<I, O>() {
+            @Override
+            public Validation<O, ValidationError> validate(I in) {
+                Deadline deadline = Deadline.within(timeout);
+                Deadline previous = Deadline.enter(deadline);
+                try {
+                    Validation<O, ValidationError> validation = self.validate(in);
+                    if (deadline.isExpired()) {
+                        return Validation.failure(deadline.error());
+                    }
+                    return validation;
+                } catch (DeadlineExceededException e) {
+                    return Validation.failure(e.getError());
+                } finally {
+                    Deadline.exit(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Only run this rule on a random rate fraction of the inputs, other inputs pass unchecked. Meant for expensive
+     * rules (regex, date parsing) on high volumes, {@link SampledRule#stats()} estimates the overall failure rate.
+     */
+    public SampledRule<I> sampled(double rate) {
+        return sampled(SamplingPolicy.random(rate));
+    }
+
+    public SampledRule<I> sampled(SamplingPolicy<? super I> policy) {
+        return new SampledRule<>(this, policy);
+    }
+
+    /**
+     * Skip validation of documents already validated with the same version, returning the previous outcome with the
+     * document as output. Keeps about capacity keys, for string ids use {@link SkipCacheRule#hash(CharSequence)} as key.
+     */
+    public SkipCacheRule<I> skipUnchanged(ToLongFunction<? super I> key, ToLongFunction<? super I> version, int capacity) {
+        return new SkipCacheRule<>(this, key, version, capacity);
+    }
+
     public <P> Rule<I, P> compose(Rule<O, P> sub) {
         return compose(Paths.Root, sub);
     }
@@ -60,15 +107,20 @@ public abstract class Rule<I, O> implements RuleLike<I, O> {
     }
 
     public Rule<I, O> orElse(final RuleLike<I, O> other) {
+        final Rule<I, O> self = this;
         return new Rule<I, O>() {
             @Override
             public Validation<O, ValidationError> validate(I in) {
-                return this.validate(in).orElse(other.validate(in));
+                return self.validate(in).orElse(other.validate(in));
             }
         };
     }
 
+    @SuppressWarnings("unchecked")
     public Rule<I, O> combine(final Rule<I, O> other) {
+        if (this instanceof PredicateRule && other instanceof PredicateRule) {
+            return ((PredicateRule) this).fuse((PredicateRule) other);
+        }
         final Rule<I, O> self = this;
         return new Rule<I, O>() {
             @Override
@@ -82,10 +134,7 @@ public abstract class Rule<I, O> implements RuleLike<I, O> {
                 } else if (validation1.isSuccess() && validation2.isFailure()) {
                     return Validation.failure(validation2.getFailures());
                 } else {
-                    List<ValidationError> errors = new ArrayList<>();
-                    errors.addAll(validation1.getFailures());
-                    errors.addAll(validation2.getFailures());
-                    return Validation.failure(errors);
+                    return Validation.failure(ErrorList.concat(validation1.getFailures(), validation2.getFailures()));
                 }
             }
         };
@@ -128,7 +177,7 @@ public abstract class Rule<I, O> implements RuleLike<I, O> {
     }
 
     public Rule<I, O> rewriteErrorMessages(final Function<String, String> rewrite) {
-        return rewriteErrors(input -> ValidationError.at(input.path, rewrite.apply(input.message)));
+        return rewriteErrors(input -> ValidationError.at(input.path, rewrite.apply(input.message())));
     }
 
     public Rule<I, O> rewriteErrors(final Function<ValidationError, ValidationError> rewrite) {
@@ -158,7 +207,7 @@ public abstract class Rule<I, O> implements RuleLike<I, O> {
     }
 
     public Rule<I, O> repath(final Function<Paths.Path, Paths.Path> f) {
-        return rewriteErrors(input -> ValidationError.at(f.apply(input.path), input.message));
+        return rewriteErrors(input -> input.repath(f.apply(input.path)));
     }
 
     public static <I> Rule<I, I> from(final Function<I, RuleLike<I, ?>> rule) {
@@ -219,21 +268,13 @@ public abstract class Rule<I, O> implements RuleLike<I, O> {
     }
 
     public static <I> Rule<I, I> validateWith(final Paths.Path path, final String errorMessage, final Predicate<I> predicate) {
-        return new Rule<I, I>() {
-            @Override
-            public Validation<I, ValidationError> validate(I in) {
-                try {
-                    if (in == null) {
-                        return Validation.failure(ValidationError.at(path, "Input can't be null"));
-                    }
-                    if (predicate.test(in)) {
-                        return Validation.success(in);
-                    }
-                    return Validation.failure(new ValidationError(path, errorMessage));
-                } catch (Exception e) {
-                    return Validation.failure(new ValidationError(e));
-                }
-            }
-        };
+        return validateWith(ValidationError.at(path, errorMessage), predicate);
+    }
+
+    /**
+     * The error is returned as is (at its own path) each time the predicate does not match.
+     */
+    public static <I> Rule<I, I> validateWith(final ValidationError error, final Predicate<I> predicate) {
+        return new PredicateRule<>(error, predicate);
     }
 }
@@ -0,0 +1,147 @@
+package org.reactivecouchbase.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Named rules, declared once and shared, ie. {@code RuleRegistry.global().declare("email", Rules::email)} at startup
+ * then {@code RuleRegistry.global().<String, String>rule("email")} wherever it is used.
+ *
+ * A rule is built the first time it is validated, so a process only pays for the rules (classes, patterns) it uses.
+ * Short lived processes can call {@link #warmup()} instead, to build every rule and run it on its samples before the
+ * first real input, which also loads every class a validation needs (what an AppCDS training run should archive).
+ */
+public class RuleRegistry {
+
+    private static final RuleRegistry GLOBAL = new RuleRegistry();
+
+    private final ConcurrentHashMap<String, Entry<?, ?>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * The process wide registry.
+     */
+    public static RuleRegistry global() {
+        return GLOBAL;
+    }
+
+    public <I, O> RuleRegistry declare(String name, Supplier<? extends Rule<I, O>> factory) {
+        return declare(name, factory, Collections.<I>emptyList());
+    }
+
+    /**
+     * Declare a rule with sample inputs, validated by {@link #warmup()}.
+     */
+    @SafeVarargs
+    public final <I, O> RuleRegistry declare(String name, Supplier<? extends Rule<I, O>> factory, I... samples) {
+        List<I> list = new ArrayList<>(samples.length);
+        for (I sample : samples) {
+            list.add(sample);
+        }
+        return declare(name, factory, list);
+    }
+
+    public <I, O> RuleRegistry declare(String name, Supplier<? extends Rule<I, O>> factory, List<I> samples) {
+        if (entries.putIfAbsent(name, new Entry<>(name, factory, new ArrayList<>(samples))) != null) {
+            throw new IllegalArgumentException("Rule " + name + " is already declared");
+        }
+        return this;
+    }
+
+    /**
+     * The rule declared under name, built on its first validation.
+     */
+    @SuppressWarnings("unchecked")
+    public <I, O> Rule<I, O> rule(String name) {
+        Entry<?, ?> entry = entries.get(name);
+        if (entry == null) {
+            throw new IllegalArgumentException("Rule " + name + " is not declared");
+        }
+        return (Rule<I, O>) entry;
+    }
+
+    public boolean isDeclared(String name) {
+        return entries.containsKey(name);
+    }
+
+    public boolean isBuilt(String name) {
+        Entry<?, ?> entry = entries.get(name);
+        return entry != null && entry.rule != null;
+    }
+
+    public Set<String> names() {
+        return Collections.unmodifiableSet(new TreeSet<>(entries.keySet()));
+    }
+
+    /**
+     * Build every declared rule and validate each of its samples once.
+     */
+    public RuleRegistry warmup() {
+        return warmup(1);
+    }
+
+    /**
+     * Build every declared rule and validate each of its samples the given number of times, enough rounds
+     * let the JIT compile the validation paths before the first real input.
+     */
+    public RuleRegistry warmup(int rounds) {
+        for (Entry<?, ?> entry : entries.values()) {
+            entry.warmup(rounds);
+        }
+        return this;
+    }
+
+    private static final class Entry<I, O> extends Rule<I, O> {
+
+        private final String name;
+        private final Supplier<? extends Rule<I, O>> factory;
+        private final List<I> samples;
+        private volatile Rule<I, O> rule;
+
+        private Entry(String name, Supplier<? extends Rule<I, O>> factory, List<I> samples) {
+            this.name = name;
+            this.factory = factory;
+            this.samples = samples;
+        }
+
+        private Rule<I, O> get() {
+            Rule<I, O> r = rule;
+            if (r == null) {
+                synchronized (this) {
+                    r = rule;
+                    if (r == null) {
+                        r = factory.get();
+                        if (r == null) {
+                            throw new IllegalStateException("Rule " + name + " factory returned null");
+                        }
+                        rule = r;
+                    }
+                }
+            }
+            return r;
+        }
+
+        private void warmup(int rounds) {
+            Rule<I, O> r = get();
+            for (int round = 0; round < rounds; round++) {
+                for (I sample : samples) {
+                    r.validate(sample);
+                }
+            }
+        }
+
+        @Override
+        public Validation<O, ValidationError> validate(I in) {
+            return get().validate(in);
+        }
+
+        @Override
+        public String toString() {
+            return "RuleRegistry.Entry(" + name + ")";
+        }
+    }
+}
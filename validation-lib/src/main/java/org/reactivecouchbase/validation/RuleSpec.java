@@ -0,0 +1,411 @@
+package org.reactivecouchbase.validation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Compiles textual validation specs into {@link DocumentRule}s, ie.
+ *
+ * <pre>
+ * # one rule per line (or separated by ;)
+ * address.city: mandatory &amp; maxLength(64)
+ * age: isInteger &gt; minI(0)
+ * emails[*]: email
+ * </pre>
+ *
+ * A statement is a path (see {@link Paths#parse(String)}) and a rule expression. {@code a & b} runs both rules on the
+ * same input and reports the errors of both ({@link Rule#combine(Rule)}), {@code a > b} runs b on the output of a
+ * ({@link Rule#compose(Rule)}), {@code >} binds tighter than {@code &} and parentheses group. Arguments are numbers or
+ * quoted strings. Rules are the {@link Rules} factories, plus the names given to {@link Builder#rule(String, Supplier)}
+ * and the rules of a {@link RuleRegistry}.
+ *
+ * Compiled specs are cached by spec text, so reloading an unchanged configuration reuses the same rules. Use a
+ * {@link ReloadableRule} to swap the compiled rule of a new configuration without pausing running validations.
+ */
+public class RuleSpec {
+
+    private static final RuleSpec DEFAULTS = builder().build();
+
+    private final Map<String, Function<Object[], Rule<?, ?>>> factories;
+    private final RuleRegistry registry;
+    private final Map<String, DocumentRule> cache;
+
+    private RuleSpec(Map<String, Function<Object[], Rule<?, ?>>> factories, RuleRegistry registry, final int cacheSize) {
+        this.factories = factories;
+        this.registry = registry;
+        this.cache = new LinkedHashMap<String, DocumentRule>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DocumentRule> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Specs using only the {@link Rules} factories, shared by the whole process.
+     */
+    public static RuleSpec defaults() {
+        return DEFAULTS;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Compile a spec, or return the rule already compiled for the same spec text.
+     *
+     * @throws IllegalArgumentException if the spec is malformed or uses an unknown rule
+     */
+    public DocumentRule compile(String spec) {
+        DocumentRule rule;
+        synchronized (cache) {
+            rule = cache.get(spec);
+        }
+        if (rule == null) {
+            rule = new Parser(spec).parse();
+            synchronized (cache) {
+                DocumentRule existing = cache.putIfAbsent(spec, rule);
+                if (existing != null) {
+                    rule = existing;
+                }
+            }
+        }
+        return rule;
+    }
+
+    public ReloadableRule<Map<String, Object>, Map<String, Object>> reloadable(String spec) {
+        return ReloadableRule.of(compile(spec));
+    }
+
+    /**
+     * Compile a new spec and swap it in. A malformed spec throws and leaves the current rule in place.
+     */
+    public void reload(ReloadableRule<Map<String, Object>, Map<String, Object>> rule, String spec) {
+        rule.reload(compile(spec));
+    }
+
+    private Rule<?, ?> rule(String name, Object[] args) {
+        Function<Object[], Rule<?, ?>> factory = factories.get(name);
+        if (factory != null) {
+            return factory.apply(args);
+        }
+        if (registry != null && registry.isDeclared(name)) {
+            arity(name, args, 0);
+            return registry.rule(name);
+        }
+        throw new IllegalArgumentException("Unknown rule " + name);
+    }
+
+    private static void arity(String name, Object[] args, int expected) {
+        if (args.length != expected) {
+            throw new IllegalArgumentException("Rule " + name + " expects " + expected + " argument(s), got " + args.length);
+        }
+    }
+
+    private static String string(String name, Object arg) {
+        if (!(arg instanceof String)) {
+            throw new IllegalArgumentException("Rule " + name + " expects a string, got " + arg);
+        }
+        return (String) arg;
+    }
+
+    private static BigDecimal number(String name, Object arg) {
+        if (!(arg instanceof BigDecimal)) {
+            throw new IllegalArgumentException("Rule " + name + " expects a number, got " + arg);
+        }
+        return (BigDecimal) arg;
+    }
+
+    private static int intValue(String name, Object arg) {
+        try {
+            return number(name, arg).intValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Rule " + name + " expects an integer, got " + arg);
+        }
+    }
+
+    private static long longValue(String name, Object arg) {
+        try {
+            return number(name, arg).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Rule " + name + " expects an integer, got " + arg);
+        }
+    }
+
+    public static class Builder {
+
+        private final Map<String, Function<Object[], Rule<?, ?>>> factories = new HashMap<>();
+        private RuleRegistry registry;
+        private int cacheSize = 64;
+
+        private Builder() {
+            constant("mandatory", Rules::mandatory);
+            constant("notNull", Rules::notNull);
+            constant("isNull", Rules::isNull);
+            constant("notEmptyStr", Rules::notEmptyStr);
+            constant("emptyStr", Rules::emptyStr);
+            constant("notEmpty", Rules::notEmpty);
+            constant("isEmpty", Rules::isEmpty);
+            constant("email", Rules::email);
+            constant("url", Rules::url);
+            constant("phone", Rules::phone);
+            constant("isInteger", Rules::isInteger);
+            constant("isLong", Rules::isLong);
+            constant("isDouble", Rules::isDouble);
+            constant("isBoolean", Rules::isBoolean);
+            constant("pass", Rules::pass);
+            constant("fail", Rules::fail);
+            unary("minLength", (name, arg) -> Rules.minLength(intValue(name, arg)));
+            unary("maxLength", (name, arg) -> Rules.maxLength(intValue(name, arg)));
+            unary("minI", (name, arg) -> Rules.minI(intValue(name, arg)));
+            unary("maxI", (name, arg) -> Rules.maxI(intValue(name, arg)));
+            unary("minL", (name, arg) -> Rules.minL(longValue(name, arg)));
+            unary("maxL", (name, arg) -> Rules.maxL(longValue(name, arg)));
+            unary("minD", (name, arg) -> Rules.minD(number(name, arg).doubleValue()));
+            unary("maxD", (name, arg) -> Rules.maxD(number(name, arg).doubleValue()));
+            unary("minBD", (name, arg) -> Rules.minBD(number(name, arg)));
+            unary("maxBD", (name, arg) -> Rules.maxBD(number(name, arg)));
+            unary("equalsTo", (name, arg) -> Rules.equalsTo(string(name, arg)));
+            unary("localDate", (name, arg) -> Rules.localDate(string(name, arg)));
+            unary("localTime", (name, arg) -> Rules.localTime(string(name, arg)));
+            unary("localDateTime", (name, arg) -> Rules.localDateTime(string(name, arg)));
+            unary("date", (name, arg) -> Rules.date(string(name, arg)));
+            factories.put("betweenI", args -> {
+                arity("betweenI", args, 2);
+                return Rules.betweenI(intValue("betweenI", args[0]), intValue("betweenI", args[1]));
+            });
+            factories.put("betweenL", args -> {
+                arity("betweenL", args, 2);
+                return Rules.betweenL(longValue("betweenL", args[0]), longValue("betweenL", args[1]));
+            });
+            factories.put("betweenD", args -> {
+                arity("betweenD", args, 2);
+                return Rules.betweenD(number("betweenD", args[0]).doubleValue(), number("betweenD", args[1]).doubleValue());
+            });
+            factories.put("pattern", args -> {
+                if (args.length == 2) {
+                    return Rules.pattern(string("pattern", args[0]), string("pattern", args[1]));
+                }
+                arity("pattern", args, 1);
+                return Rules.pattern(string("pattern", args[0]));
+            });
+        }
+
+        private void constant(final String name, final Supplier<? extends Rule<?, ?>> factory) {
+            factories.put(name, args -> {
+                arity(name, args, 0);
+                return factory.get();
+            });
+        }
+
+        private void unary(final String name, final UnaryFactory factory) {
+            factories.put(name, args -> {
+                arity(name, args, 1);
+                return factory.create(name, args[0]);
+            });
+        }
+
+        /**
+         * Make a rule available to specs under a name, a new rule is built for every use of the name.
+         */
+        public Builder rule(final String name, final Supplier<? extends Rule<?, ?>> factory) {
+            constant(name, factory);
+            return this;
+        }
+
+        /**
+         * Resolve names that are not {@link Rules} factories nor given to {@link #rule(String, Supplier)} in a registry.
+         */
+        public Builder registry(RuleRegistry registry) {
+            this.registry = registry;
+            return this;
+        }
+
+        public Builder cacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        public RuleSpec build() {
+            return new RuleSpec(new HashMap<>(factories), registry, cacheSize);
+        }
+    }
+
+    private interface UnaryFactory {
+        Rule<?, ?> create(String name, Object arg);
+    }
+
+    /**
+     * Recursive descent parser:
+     * spec := (statement (';' | '\n'))*, statement := path ':' and, and := compose ('&amp;' compose)*,
+     * compose := term ('&gt;' term)*, term := name ('(' (arg (',' arg)*)? ')')? | '(' and ')'.
+     */
+    private class Parser {
+
+        private final String spec;
+        private int pos = 0;
+
+        private Parser(String spec) {
+            this.spec = spec;
+        }
+
+        DocumentRule parse() {
+            DocumentRule.Builder builder = DocumentRule.builder();
+            while (true) {
+                skipBlanks(true);
+                if (pos == spec.length()) {
+                    return builder.build();
+                }
+                int colon = spec.indexOf(':', pos);
+                int end = statementEnd();
+                if (colon < 0 || colon > end) {
+                    throw error("expected 'path: rule'");
+                }
+                String path = spec.substring(pos, colon).trim();
+                if (path.isEmpty()) {
+                    throw error("expected a path");
+                }
+                pos = colon + 1;
+                Rule<?, ?> rule = and();
+                skipBlanks(false);
+                if (pos < spec.length() && spec.charAt(pos) != ';' && spec.charAt(pos) != '\n') {
+                    throw error("unexpected '" + spec.charAt(pos) + "'");
+                }
+                builder.rule(Paths.parse(path), rule);
+            }
+        }
+
+        private int statementEnd() {
+            for (int i = pos; i < spec.length(); i++) {
+                if (spec.charAt(i) == ';' || spec.charAt(i) == '\n') {
+                    return i;
+                }
+            }
+            return spec.length();
+        }
+
+        @SuppressWarnings("unchecked")
+        private Rule<?, ?> and() {
+            Rule<Object, Object> rule = (Rule<Object, Object>) compose();
+            while (accept('&')) {
+                rule = rule.combine((Rule<Object, Object>) compose());
+            }
+            return rule;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Rule<?, ?> compose() {
+            Rule<Object, Object> rule = (Rule<Object, Object>) term();
+            while (accept('>')) {
+                rule = rule.compose((Rule<Object, Object>) term());
+            }
+            return rule;
+        }
+
+        private Rule<?, ?> term() {
+            if (accept('(')) {
+                Rule<?, ?> rule = and();
+                expect(')');
+                return rule;
+            }
+            String name = identifier();
+            List<Object> args = new ArrayList<>();
+            if (accept('(')) {
+                if (!accept(')')) {
+                    do {
+                        args.add(argument());
+                    } while (accept(','));
+                    expect(')');
+                }
+            }
+            return rule(name, args.toArray());
+        }
+
+        private String identifier() {
+            skipBlanks(false);
+            int start = pos;
+            while (pos < spec.length() && (Character.isLetterOrDigit(spec.charAt(pos)) || spec.charAt(pos) == '_')) {
+                pos++;
+            }
+            if (start == pos || Character.isDigit(spec.charAt(start))) {
+                pos = start;
+                throw error("expected a rule name");
+            }
+            return spec.substring(start, pos);
+        }
+
+        private Object argument() {
+            skipBlanks(false);
+            if (pos < spec.length() && (spec.charAt(pos) == '"' || spec.charAt(pos) == '\'')) {
+                char quote = spec.charAt(pos++);
+                StringBuilder value = new StringBuilder();
+                while (pos < spec.length() && spec.charAt(pos) != quote) {
+                    char c = spec.charAt(pos++);
+                    if (c == '\\' && pos < spec.length()) {
+                        c = spec.charAt(pos++);
+                    }
+                    value.append(c);
+                }
+                if (pos == spec.length()) {
+                    throw error("unterminated string");
+                }
+                pos++;
+                return value.toString();
+            }
+            int start = pos;
+            while (pos < spec.length() && (Character.isDigit(spec.charAt(pos)) || "+-.eE".indexOf(spec.charAt(pos)) >= 0)) {
+                pos++;
+            }
+            try {
+                return new BigDecimal(spec.substring(start, pos));
+            } catch (NumberFormatException e) {
+                pos = start;
+                throw error("expected a number or a string");
+            }
+        }
+
+        private boolean accept(char c) {
+            skipBlanks(false);
+            if (pos < spec.length() && spec.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char c) {
+            if (!accept(c)) {
+                throw error("expected '" + c + "'");
+            }
+        }
+
+        /**
+         * Skip spaces and comments, and statement separators between statements.
+         */
+        private void skipBlanks(boolean separators) {
+            while (pos < spec.length()) {
+                char c = spec.charAt(pos);
+                if (c == '#') {
+                    while (pos < spec.length() && spec.charAt(pos) != '\n') {
+                        pos++;
+                    }
+                } else if (c == ' ' || c == '\t' || c == '\r' || (separators && (c == '\n' || c == ';'))) {
+                    pos++;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid rule spec at " + pos + ", " + message + ": " + spec);
+        }
+    }
+}
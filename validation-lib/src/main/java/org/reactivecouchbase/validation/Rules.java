@@ -8,33 +8,55 @@ import java.math.BigInteger;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Duration;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import static org.reactivecouchbase.validation.Rule.validateWith;
 
 public class Rules {
 
-    public static final String EMAIL_PATTERN = "[\\w!#$%&'*+/=?^_`{|}~-]+(?:\\.[\\w!#$%&'*+/=?^_`{|}~-]+)*@(?:[\\w](?:[\\w-]*[\\w])?\\.)+[a-zA-Z0-9](?:[\\w-]*[\\w])?";
-    public static final String URL_PATTERN = "^(http|https|ftp)\\://[a-zA-Z0-9\\-\\.]+\\.[a-zA-Z]{2,3}(:[a-zA-Z0-9]*)?/?([a-zA-Z0-9\\-\\._\\?\\,\\'/\\\\\\+&amp;%\\$#\\=~\\!])*$";
+    /**
+     * Repeated groups are possessive: {@link Pattern} recurses once per repetition of a backtracking group, which
+     * overflows the stack on large inputs. They accept the same inputs, as a repetition can never be given back here.
+     */
+    public static final String EMAIL_PATTERN = "[\\w!#$%&'*+/=?^_`{|}~-]++(?:\\.[\\w!#$%&'*+/=?^_`{|}~-]++)*+@(?:[\\w](?:[\\w-]*[\\w])?\\.)++[a-zA-Z0-9](?:[\\w-]*[\\w])?";
+    public static final String URL_PATTERN = "^(http|https|ftp)\\://[a-zA-Z0-9\\-\\.]+\\.[a-zA-Z]{2,3}(:[a-zA-Z0-9]*)?/?([a-zA-Z0-9\\-\\._\\?\\,\\'/\\\\\\+&amp;%\\$#\\=~\\!])*+$";
     public static final String PHONE_PATTERN = "^([\\+][0-9]{1,3}([ \\.\\-]))?([\\(]{1}[0-9]{2,6}[\\)])?([0-9 \\.\\-/]{3,20})((x|ext|extension)[ ]?[0-9]{1,4})?$";
 
+    private static final ValidationError EMAIL_ERROR = ValidationError.withCode("error.email", "The specified value is not an email address");
+    private static final ValidationError URL_ERROR = ValidationError.withCode("error.url", "The specified value is not a URL");
+    private static final ValidationError PHONE_ERROR = ValidationError.withCode("error.phone", "The specified value is not a phone number");
+
     private Rules() {
     }
 
+    @SafeVarargs
     public static <I> Rule<I, I> combine(Rule<I, I>... rules) {
-        return combine(Arrays.asList(rules));
+        List<Rule<I, I>> list = new ArrayList<>(rules.length);
+        for (Rule<I, I> rule : rules) {
+            list.add(rule);
+        }
+        return combine(list);
     }
 
     public static <I> Rule<I, I> combine(Iterable<Rule<I, I>> rules) {
-        Rule<I, I> last = Rules.<I>pass();
+        Rule<I, I> last = null;
         for (Rule<I, I> rule : rules) {
-            last = last.combine(rule);
+            last = last == null ? rule : last.combine(rule);
         }
-        return last;
+        return last == null ? Rules.<I>pass() : last;
     }
 
     public static <I> Rule<I, I> pass() {
@@ -50,7 +72,7 @@ public class Rules {
         return new Rule<I, O>() {
             @Override
             public Validation<O, ValidationError> validate(I in) {
-                return Validation.failure(ValidationError.of("Always fail"));
+                return Validation.failure(ValidationError.withCode("error.fail", "Always fail"));
             }
         };
     }
@@ -64,22 +86,32 @@ public class Rules {
         };
     }
 
+    /**
+     * Errors of an element are reported under its index ({@code / [2] / ...}), for sets the index is the iteration
+     * order of the input.
+     */
     public static <I, O, C extends Collection<O>> Rule<Iterable<I>, C> collection(final Supplier<C> builder, final Rule<I, O> rule) {
         return new Rule<Iterable<I>, C>() {
             @Override
             public Validation<C, ValidationError> validate(Iterable<I> ins) {
                 C outs = builder.get();
-                List<ValidationError> errors = new ArrayList<>();
+                IndexedErrors errors = null;
+                int index = 0;
                 for (I in : ins) {
+                    Deadline.checkCurrent();
                     Validation<O, ValidationError> errorValidation = rule.validate(in);
                     if (errorValidation.isSuccess()) {
                         outs.add(errorValidation.getSuccess());
                     }
                     if (errorValidation.isFailure()) {
-                        errors.addAll(errorValidation.getFailures());
+                        if (errors == null) {
+                            errors = new IndexedErrors();
+                        }
+                        errors.add(index, errorValidation.getFailures());
                     }
+                    index++;
                 }
-                if (errors.isEmpty()) {
+                if (errors == null || errors.isEmpty()) {
                     return Validation.success(outs);
                 }
                 return Validation.failure(errors);
@@ -95,6 +127,191 @@ public class Rules {
         return collection(HashSet::new, rule);
     }
 
+    /**
+     * Validate every entry of a map, errors of an entry are reported under the key ({@code / key / ...}).
+     * The output map keeps the iteration order of the input.
+     */
+    public static <K, V, KO, VO> Rule<Map<K, V>, Map<KO, VO>> map(final Rule<K, KO> keyRule, final Rule<V, VO> valueRule) {
+        return map(keyRule, valueRule, false);
+    }
+
+    /**
+     * Like {@link #map(Rule, Rule)} but stops at the first invalid entry and only reports its errors. The value of an
+     * entry is not validated when its key is invalid.
+     */
+    public static <K, V, KO, VO> Rule<Map<K, V>, Map<KO, VO>> mapFailFast(final Rule<K, KO> keyRule, final Rule<V, VO> valueRule) {
+        return map(keyRule, valueRule, true);
+    }
+
+    private static <K, V, KO, VO> Rule<Map<K, V>, Map<KO, VO>> map(final Rule<K, KO> keyRule, final Rule<V, VO> valueRule, final boolean failFast) {
+        return new Rule<Map<K, V>, Map<KO, VO>>() {
+            @Override
+            public Validation<Map<KO, VO>, ValidationError> validate(Map<K, V> in) {
+                if (in == null) {
+                    return Validation.failure(ValidationError.withCode("error.required", "Input can't be null"));
+                }
+                Map<KO, VO> outs = new LinkedHashMap<>(mapCapacity(in.size()));
+                ErrorList<ValidationError> errors = ErrorList.empty();
+                for (Map.Entry<K, V> entry : in.entrySet()) {
+                    Deadline.checkCurrent();
+                    Validation<KO, ValidationError> key = keyRule.validate(entry.getKey());
+                    if (failFast && key.isFailure()) {
+                        errors = errors.concat(entryErrors(entry.getKey(), key, null));
+                        break;
+                    }
+                    Validation<VO, ValidationError> value = valueRule.validate(entry.getValue());
+                    if (key.isSuccess() && value.isSuccess()) {
+                        outs.put(key.getSuccess(), value.getSuccess());
+                    } else {
+                        errors = errors.concat(entryErrors(entry.getKey(), key, value));
+                        if (failFast) {
+                            break;
+                        }
+                    }
+                }
+                if (errors.isEmpty()) {
+                    return Validation.success(outs);
+                }
+                return Validation.failure(errors);
+            }
+        };
+    }
+
+    /**
+     * Like {@link #map(Rule, Rule)}, maps with at least {@code parallelismThreshold} entries are validated on
+     * {@link ParallelRules#defaultExecutor()}, in as many slices as there are processors.
+     */
+    public static <K, V, KO, VO> Rule<Map<K, V>, Map<KO, VO>> parallelMap(final Rule<K, KO> keyRule, final Rule<V, VO> valueRule, final int parallelismThreshold) {
+        return parallelMap(ParallelRules.defaultExecutor(), Runtime.getRuntime().availableProcessors(), keyRule, valueRule, parallelismThreshold);
+    }
+
+    /**
+     * Like {@link #map(Rule, Rule)}, maps with at least {@code parallelismThreshold} entries are split in
+     * {@code maxConcurrency} slices validated on executor. Errors are reported in the iteration order of the input.
+     *
+     * The slices run under the {@link Deadline} of the calling thread: each entry checks it, and once it passed the
+     * slices still running are cancelled (interrupting blocking value rules) and a {@link DeadlineExceededException}
+     * is thrown, as {@link #map(Rule, Rule)} does.
+     */
+    public static <K, V, KO, VO> Rule<Map<K, V>, Map<KO, VO>> parallelMap(final ExecutorService executor, final int maxConcurrency, final Rule<K, KO> keyRule, final Rule<V, VO> valueRule, final int parallelismThreshold) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be positive, got " + maxConcurrency);
+        }
+        final Rule<Map<K, V>, Map<KO, VO>> sequential = map(keyRule, valueRule);
+        return new Rule<Map<K, V>, Map<KO, VO>>() {
+            @Override
+            public Validation<Map<KO, VO>, ValidationError> validate(Map<K, V> in) {
+                if (in == null || in.size() < parallelismThreshold) {
+                    return sequential.validate(in);
+                }
+                final List<Map.Entry<K, V>> entries = new ArrayList<>(in.entrySet());
+                final int size = entries.size();
+                final AtomicReferenceArray<Validation<KO, ValidationError>> keys = new AtomicReferenceArray<>(size);
+                final AtomicReferenceArray<Validation<VO, ValidationError>> values = new AtomicReferenceArray<>(size);
+                final Deadline deadline = Deadline.current();
+                int slices = Math.min(maxConcurrency, size);
+                List<Future<?>> futures = new ArrayList<>(slices);
+                for (int slice = 0; slice < slices; slice++) {
+                    final int from = (int) ((long) size * slice / slices);
+                    final int to = (int) ((long) size * (slice + 1) / slices);
+                    futures.add(executor.submit(() -> {
+                        Deadline previous = Deadline.enter(deadline);
+                        try {
+                            for (int i = from; i < to; i++) {
+                                Deadline.checkCurrent();
+                                keys.set(i, keyRule.validate(entries.get(i).getKey()));
+                                values.set(i, valueRule.validate(entries.get(i).getValue()));
+                            }
+                        } finally {
+                            Deadline.exit(previous);
+                        }
+                    }));
+                }
+                awaitSlices(futures, deadline);
+                Map<KO, VO> outs = new LinkedHashMap<>(mapCapacity(size));
+                ErrorList<ValidationError> errors = ErrorList.empty();
+                for (int i = 0; i < size; i++) {
+                    Validation<KO, ValidationError> key = keys.get(i);
+                    Validation<VO, ValidationError> value = values.get(i);
+                    if (key.isSuccess() && value.isSuccess()) {
+                        outs.put(key.getSuccess(), value.getSuccess());
+                    } else {
+                        errors = errors.concat(entryErrors(entries.get(i).getKey(), key, value));
+                    }
+                }
+                if (errors.isEmpty()) {
+                    return Validation.success(outs);
+                }
+                return Validation.failure(errors);
+            }
+        };
+    }
+
+    /**
+     * Wait for every slice, at most until the deadline (if any). A failing slice cancels the others and its exception
+     * is rethrown.
+     */
+    private static void awaitSlices(List<Future<?>> futures, Deadline deadline) {
+        try {
+            for (Future<?> future : futures) {
+                if (deadline == null) {
+                    future.get();
+                } else {
+                    future.get(Math.max(0L, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+                }
+            }
+        } catch (TimeoutException e) {
+            cancelAll(futures);
+            throw new DeadlineExceededException(deadline.error());
+        } catch (InterruptedException e) {
+            cancelAll(futures);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while validating map entries", e);
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static void cancelAll(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    /**
+     * Errors of the key then of the value of an entry, under the key. valueValidation is null when the value was not
+     * validated.
+     */
+    private static List<ValidationError> entryErrors(Object key, Validation<?, ValidationError> keyValidation, Validation<?, ValidationError> valueValidation) {
+        Paths.Path path = Paths.Root.field(String.valueOf(key));
+        List<ValidationError> errors = new ArrayList<>();
+        addEntryErrors(errors, path, keyValidation);
+        if (valueValidation != null) {
+            addEntryErrors(errors, path, valueValidation);
+        }
+        return errors;
+    }
+
+    private static void addEntryErrors(List<ValidationError> errors, Paths.Path path, Validation<?, ValidationError> validation) {
+        if (validation.isFailure()) {
+            for (ValidationError error : validation.getFailures()) {
+                errors.add(error.repath(path.compose(error.path)));
+            }
+        }
+    }
+
+    private static int mapCapacity(int size) {
+        return size < 3 ? size + 1 : (int) (size / 0.75f + 1.0f);
+    }
+
     public static <I, F, O> Rule<I, O> pathRule(final Function<I, F> extractor, final Rule<F, O> rule) {
         return pathRule(Paths.Root, extractor, rule);
     }
@@ -109,81 +326,173 @@ public class Rules {
         };
     }
 
+    /**
+     * Accepts the same inputs as {@link #EMAIL_PATTERN}, see {@link Scanners#isEmail(CharSequence)}.
+     */
     public static Rule<String, String> email() {
-        return pattern("The specified value is not an email address", EMAIL_PATTERN);
+        return validateWith(EMAIL_ERROR, input -> input != null && Scanners.isEmail(input));
     }
 
+    public static Rule<String, String> emailRegex() {
+        return pattern(EMAIL_ERROR, EMAIL_PATTERN);
+    }
+
+    /**
+     * Accepts the same inputs as {@link #URL_PATTERN}, see {@link Scanners#isUrl(CharSequence)}.
+     */
     public static Rule<String, String> url() {
-        return pattern("The specified value is not an email address", URL_PATTERN);
+        return validateWith(URL_ERROR, input -> input != null && Scanners.isUrl(input));
+    }
+
+    public static Rule<String, String> urlRegex() {
+        return pattern(URL_ERROR, URL_PATTERN);
     }
 
+    /**
+     * Accepts the same inputs as {@link #PHONE_PATTERN}, see {@link Scanners#isPhone(CharSequence)}.
+     */
     public static Rule<String, String> phone() {
-        return pattern("The specified value is not an email address", PHONE_PATTERN);
+        return validateWith(PHONE_ERROR, input -> input != null && Scanners.isPhone(input));
+    }
+
+    public static Rule<String, String> phoneRegex() {
+        return pattern(PHONE_ERROR, PHONE_PATTERN);
     }
 
     public static Rule<String, String> pattern(final String error, final String p) {
-        return validateWith(error, input -> input != null && input.matches(p));
+        return pattern(ValidationError.withCode("error.pattern", error), p);
     }
 
     public static Rule<String, String> pattern(final String p) {
-        return validateWith("The specified value does not match pattern " + p,
-                input -> input != null && input.matches(p));
+        return pattern(ValidationError.withCode("error.pattern", "The specified value does not match pattern {}", p), p);
+    }
+
+    /**
+     * Abort the matching after timeout and report an {@code error.timeout} error. Other pattern rules only stop at
+     * the deadline set by {@link Rule#withDeadline(Duration)}, if any.
+     */
+    public static Rule<String, String> pattern(final String error, final String p, final Duration timeout) {
+        return pattern(ValidationError.withCode("error.pattern", error), p, timeout);
+    }
+
+    private static Rule<String, String> pattern(final ValidationError error, final String p) {
+        return pattern(error, p, null);
+    }
+
+    private static Rule<String, String> pattern(final ValidationError error, final String p, final Duration timeout) {
+        final Pattern compiled = compile(p);
+        if (compiled == null) {
+            return validateWith(error, input -> input != null && input.matches(p));
+        }
+        return validateWith(error, input -> input != null && matches(compiled, timeout == null ? Deadline.guard(input) : Deadline.guard(input, timeout)));
+    }
+
+    /**
+     * The compiled pattern, or null if it is invalid: the rule then fails on validation, with the syntax error.
+     */
+    static Pattern compile(String p) {
+        try {
+            return Pattern.compile(p);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Repeated groups recurse once per repetition in {@link Pattern}: an input too large to be matched fails with an
+     * {@code error.tooLarge} error instead of letting the {@link StackOverflowError} escape.
+     */
+    static boolean matches(Pattern pattern, CharSequence input) {
+        try {
+            return pattern.matcher(input).matches();
+        } catch (StackOverflowError e) {
+            throw new InputTooLargeException(ValidationError.withCode("error.tooLarge",
+                "The specified value is too large to be matched against pattern {}", pattern.pattern()));
+        }
     }
 
     public static Rule<Integer, Integer> minI(final Integer value) {
-        return validateWith("The specified value is smaller than " + value, input -> input != null && input > value);
+        return validateWith(ValidationError.withCode("error.min", "The specified value is smaller than {}", value), input -> input != null && input > value);
     }
 
     public static Rule<Integer, Integer> maxI(final Integer value) {
-        return validateWith("The specified value is bigger than " + value, input -> input != null && input < value);
+        return validateWith(ValidationError.withCode("error.max", "The specified value is bigger than {}", value), input -> input != null && input < value);
+    }
+
+    public static Rule<Integer, Integer> betweenI(final Integer min, final Integer max) {
+        return minI(min).combine(maxI(max));
     }
 
     public static Rule<Long, Long> minL(final Long value) {
-        return validateWith("The specified value is smaller than " + value, input -> input != null && input > value);
+        return validateWith(ValidationError.withCode("error.min", "The specified value is smaller than {}", value), input -> input != null && input > value);
     }
 
     public static Rule<Long, Long> maxL(final Long value) {
-        return validateWith("The specified value is bigger than " + value, input -> input != null && input < value);
+        return validateWith(ValidationError.withCode("error.max", "The specified value is bigger than {}", value), input -> input != null && input < value);
+    }
+
+    public static Rule<Long, Long> betweenL(final Long min, final Long max) {
+        return minL(min).combine(maxL(max));
     }
 
     public static Rule<Double, Double> minD(final Double value) {
-        return validateWith("The specified value is smaller than " + value, input -> input != null && input > value);
+        return validateWith(ValidationError.withCode("error.min", "The specified value is smaller than {}", value), input -> input != null && input > value);
     }
 
     public static Rule<Double, Double> maxD(final Double value) {
-        return validateWith("The specified value is bigger than " + value, input -> input != null && input < value);
+        return validateWith(ValidationError.withCode("error.max", "The specified value is bigger than {}", value), input -> input != null && input < value);
+    }
+
+    public static Rule<Double, Double> betweenD(final Double min, final Double max) {
+        return minD(min).combine(maxD(max));
     }
 
     public static Rule<Short, Short> minS(final Short value) {
-        return validateWith("The specified value is smaller than " + value, input -> input != null && input > value);
+        return validateWith(ValidationError.withCode("error.min", "The specified value is smaller than {}", value), input -> input != null && input > value);
     }
 
     public static Rule<Short, Short> maxS(final Short value) {
-        return validateWith("The specified value is bigger than " + value, input -> input != null && input < value);
+        return validateWith(ValidationError.withCode("error.max", "The specified value is bigger than {}", value), input -> input != null && input < value);
+    }
+
+    public static Rule<Short, Short> betweenS(final Short min, final Short max) {
+        return minS(min).combine(maxS(max));
     }
 
     public static Rule<Float, Float> minF(final Float value) {
-        return validateWith("The specified value is smaller than " + value, input -> input != null && input > value);
+        return validateWith(ValidationError.withCode("error.min", "The specified value is smaller than {}", value), input -> input != null && input > value);
     }
 
     public static Rule<Float, Float> maxF(final Float value) {
-        return validateWith("The specified value is bigger than " + value, input -> input != null && input < value);
+        return validateWith(ValidationError.withCode("error.max", "The specified value is bigger than {}", value), input -> input != null && input < value);
+    }
+
+    public static Rule<Float, Float> betweenF(final Float min, final Float max) {
+        return minF(min).combine(maxF(max));
     }
 
     public static Rule<BigDecimal, BigDecimal> minBD(final BigDecimal value) {
-        return validateWith("The specified value is smaller than " + value, input -> input != null && input.compareTo(value) > 0);
+        return validateWith(ValidationError.withCode("error.min", "The specified value is smaller than {}", value), input -> input != null && input.compareTo(value) > 0);
     }
 
     public static Rule<BigDecimal, BigDecimal> maxBD(final BigDecimal value) {
-        return validateWith("The specified value is bigger than " + value, input -> input != null && input.compareTo(value) < 0);
+        return validateWith(ValidationError.withCode("error.max", "The specified value is bigger than {}", value), input -> input != null && input.compareTo(value) < 0);
+    }
+
+    public static Rule<BigDecimal, BigDecimal> betweenBD(final BigDecimal min, final BigDecimal max) {
+        return minBD(min).combine(maxBD(max));
     }
 
     public static Rule<BigInteger, BigInteger> minBI(final BigInteger value) {
-        return validateWith("The specified value is smaller than " + value, input -> input != null && input.compareTo(value) > 0);
+        return validateWith(ValidationError.withCode("error.min", "The specified value is smaller than {}", value), input -> input != null && input.compareTo(value) > 0);
     }
 
     public static Rule<BigInteger, BigInteger> maxBI(final BigInteger value) {
-        return validateWith("The specified value is bigger than " + value, input -> input != null && input.compareTo(value) < 0);
+        return validateWith(ValidationError.withCode("error.max", "The specified value is bigger than {}", value), input -> input != null && input.compareTo(value) < 0);
+    }
+
+    public static Rule<BigInteger, BigInteger> betweenBI(final BigInteger min, final BigInteger max) {
+        return minBI(min).combine(maxBI(max));
     }
 
     public static <I> Rule<I, I> ignore() {
@@ -196,7 +505,7 @@ public class Rules {
     }
 
     public static <I> Rule<I, I> notNull() {
-        return validateWith("The specified value is null", input -> input != null);
+        return validateWith(ValidationError.withCode("error.notNull", "The specified value is null"), input -> input != null);
     }
 
     public static <I> Rule<I, I> isNull() {
@@ -206,49 +515,52 @@ public class Rules {
                 if (in == null) {
                     return Validation.success(in);
                 }
-                return Validation.failure(new ValidationError("The specified value is not null"));
+                return Validation.failure(ValidationError.withCode("error.isNull", "The specified value is not null"));
             }
         };
     }
 
     public static <I> Rule<I, I> equalsTo(final I to) {
-        return validateWith("The specified value is not equals to reference object (" + to.toString() + ")", input -> input != null && input.equals(to));
+        return validateWith(ValidationError.withCode("error.equals", "The specified value is not equals to reference object ({})", to), input -> input != null && input.equals(to));
     }
 
     public static Rule<String, String> notEmptyStr() {
-        return validateWith("The specified value is an empty String", input -> input != null && !input.isEmpty());
+        return validateWith(ValidationError.withCode("error.notEmptyStr", "The specified value is an empty String"), input -> input != null && !input.isEmpty());
     }
 
     public static Rule<String, String> emptyStr() {
-        return validateWith("The specified value is not an empty String", input -> input != null && input.isEmpty());
+        return validateWith(ValidationError.withCode("error.emptyStr", "The specified value is not an empty String"), input -> input != null && input.isEmpty());
     }
 
     public static <I extends Collection> Rule<I, I> notEmpty() {
-        return validateWith("The specified value is an empty collection", input -> input != null && !input.isEmpty());
+        return validateWith(ValidationError.withCode("error.notEmpty", "The specified value is an empty collection"), input -> input != null && !input.isEmpty());
     }
 
     public static <I extends Collection> Rule<I, I> isEmpty() {
-        return validateWith("The specified value is not an empty collection", input -> input != null && input.isEmpty());
+        return validateWith(ValidationError.withCode("error.isEmpty", "The specified value is not an empty collection"), input -> input != null && input.isEmpty());
     }
 
     public static Rule<String, String> minLength(final int size) {
-        return validateWith(input -> input != null && input.length() >= size);
+        return validateWith(ValidationError.withCode("error.minLength", "Input does not match predicate", size), input -> input != null && input.length() >= size);
     }
 
     public static Rule<String, String> maxLength(final int size) {
-        return validateWith(input -> input != null && input.length() <= size);
+        return validateWith(ValidationError.withCode("error.maxLength", "Input does not match predicate", size), input -> input != null && input.length() <= size);
     }
 
+    /**
+     * {@link SimpleDateFormat} is not thread safe, each thread parses with its own instance.
+     */
     public static Rule<String, Date> date(final String pattern) {
         return new Rule<String, Date>() {
-            SimpleDateFormat df = new SimpleDateFormat(pattern);
+            final ThreadLocal<SimpleDateFormat> df = ThreadLocal.withInitial(() -> new SimpleDateFormat(pattern));
             @Override
             public Validation<Date, ValidationError> validate(String in) {
                 if (in == null) {
-                    return Validation.failure(new ValidationError("Input can't be null"));
+                    return Validation.failure(ValidationError.withCode("error.required", "Input can't be null"));
                 }
                 try {
-                    return Validation.success(df.parse(in));
+                    return Validation.success(df.get().parse(in));
                 } catch (Exception e) {
                     return Validation.failure(new ValidationError(e));
                 }
@@ -261,7 +573,7 @@ public class Rules {
             @Override
             public Validation<DateTime, ValidationError> validate(String in) {
                 if (in == null) {
-                    return Validation.failure(new ValidationError("Input can't be null"));
+                    return Validation.failure(ValidationError.withCode("error.required", "Input can't be null"));
                 }
                 try {
                     return Validation.success(DateTime.parse(in, DateTimeFormat.forPattern(pattern)));
@@ -277,7 +589,7 @@ public class Rules {
             @Override
             public Validation<LocalDate, ValidationError> validate(String in) {
                 if (in == null) {
-                    return Validation.failure(new ValidationError("Input can't be null"));
+                    return Validation.failure(ValidationError.withCode("error.required", "Input can't be null"));
                 }
                 try {
                     return Validation.success(LocalDate.from(DateTimeFormatter.ofPattern(pattern).parse(in)));
@@ -293,7 +605,7 @@ public class Rules {
             @Override
             public Validation<LocalTime, ValidationError> validate(String in) {
                 if (in == null) {
-                    return Validation.failure(new ValidationError("Input can't be null"));
+                    return Validation.failure(ValidationError.withCode("error.required", "Input can't be null"));
                 }
                 try {
                     return Validation.success(LocalTime.from(DateTimeFormatter.ofPattern(pattern).parse(in)));
@@ -309,7 +621,7 @@ public class Rules {
             @Override
             public Validation<LocalDateTime, ValidationError> validate(String in) {
                 if (in == null) {
-                    return Validation.failure(new ValidationError("Input can't be null"));
+                    return Validation.failure(ValidationError.withCode("error.required", "Input can't be null"));
                 }
                 try {
                     return Validation.success(LocalDateTime.from(DateTimeFormatter.ofPattern(pattern).parse(in)));
@@ -321,11 +633,11 @@ public class Rules {
     }
 
     public static Rule<Integer, Integer> greaterThan(final int value) {
-        return validateWith("The specified value is lesser than " + value, input -> input > value);
+        return validateWith(ValidationError.withCode("error.greaterThan", "The specified value is lesser than {}", value), input -> input > value);
     }
 
     public static Rule<Integer, Integer> lesserThan(final int value) {
-        return validateWith("The specified value is greater than " + value, input -> input < value);
+        return validateWith(ValidationError.withCode("error.lesserThan", "The specified value is greater than {}", value), input -> input < value);
     }
 
     public static Rule<String, String> mandatory() {
@@ -333,10 +645,10 @@ public class Rules {
             @Override
             public Validation<String, ValidationError> validate(String in) {
                 if (in == null) {
-                    return Validation.failure(ValidationError.of("Validated value is null"));
+                    return Validation.failure(ValidationError.withCode("error.required", "Validated value is null"));
                 }
                 if (in.trim().isEmpty()) {
-                    return Validation.failure(ValidationError.of("Validated value is empty"));
+                    return Validation.failure(ValidationError.withCode("error.empty", "Validated value is empty"));
                 }
                 return Validation.success(in);
             }
@@ -350,7 +662,7 @@ public class Rules {
                 try {
                     return Validation.success(Integer.valueOf(in));
                 } catch (Exception e) {
-                    return Validation.failure(new ValidationError("Not an integer"));
+                    return Validation.failure(ValidationError.withCode("error.integer", "Not an integer"));
                 }
             }
         });
@@ -363,7 +675,7 @@ public class Rules {
                 try {
                     return Validation.success(Boolean.valueOf(in));
                 } catch (Exception e) {
-                    return Validation.failure(new ValidationError("Not an integer"));
+                    return Validation.failure(ValidationError.withCode("error.boolean", "Not an integer"));
                 }
             }
         });
@@ -376,7 +688,7 @@ public class Rules {
                 try {
                     return Validation.success(Long.valueOf(in));
                 } catch (Exception e) {
-                    return Validation.failure(new ValidationError("Not an integer"));
+                    return Validation.failure(ValidationError.withCode("error.long", "Not an integer"));
                 }
             }
         });
@@ -389,7 +701,7 @@ public class Rules {
                 try {
                     return Validation.success(Double.valueOf(in));
                 } catch (Exception e) {
-                    return Validation.failure(new ValidationError("Not an integer"));
+                    return Validation.failure(ValidationError.withCode("error.double", "Not an integer"));
                 }
             }
         });
@@ -402,7 +714,7 @@ public class Rules {
                 try {
                     return Validation.success(Float.valueOf(in));
                 } catch (Exception e) {
-                    return Validation.failure(new ValidationError("Not an integer"));
+                    return Validation.failure(ValidationError.withCode("error.float", "Not an integer"));
                 }
             }
         });
@@ -0,0 +1,35 @@
+package org.reactivecouchbase.validation;
+
+/**
+ * A rule that only runs on the inputs its {@link SamplingPolicy} samples, other inputs pass unchecked.
+ * {@link #stats()} estimates the failure rate of all the inputs from the sample.
+ */
+public class SampledRule<I> extends Rule<I, I> {
+
+    private final Rule<I, ?> rule;
+    private final SamplingPolicy<? super I> policy;
+    private final SamplingStats stats = new SamplingStats();
+
+    SampledRule(Rule<I, ?> rule, SamplingPolicy<? super I> policy) {
+        this.rule = rule;
+        this.policy = policy;
+    }
+
+    @Override
+    public Validation<I, ValidationError> validate(I in) {
+        if (!policy.shouldSample(in)) {
+            stats.skipped();
+            return Validation.success(in);
+        }
+        Validation<?, ValidationError> validation = rule.validate(in);
+        stats.ran(validation.isFailure());
+        if (validation.isFailure()) {
+            return Validation.failure(validation.getFailures());
+        }
+        return Validation.success(in);
+    }
+
+    public SamplingStats stats() {
+        return stats;
+    }
+}
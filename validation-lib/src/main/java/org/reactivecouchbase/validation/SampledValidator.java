@@ -0,0 +1,137 @@
+package org.reactivecouchbase.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validates every input with the cheap rules and only the sampled inputs with the expensive ones. The sampling
+ * decision is taken once per input, so that all the expensive rules run on the same sample.
+ *
+ * <pre>
+ * SampledValidator&lt;Map&lt;String, Object&gt;&gt; validator = SampledValidator.&lt;Map&lt;String, Object&gt;&gt;builder()
+ *     .always(mandatoryFields)
+ *     .sampled("email", emailRule)
+ *     .sampled("birthDate", dateRule)
+ *     .policy(SamplingPolicy.&lt;Map&lt;String, Object&gt;&gt;random(0.01).withBudget(10000))
+ *     .build();
+ * ...
+ * validator.estimates().forEach((name, estimate) -&gt; log.info(name + ": " + estimate));
+ * </pre>
+ */
+public class SampledValidator<I> extends Rule<I, I> {
+
+    private final List<Rule<I, ?>> always;
+    private final String[] names;
+    private final List<Rule<I, ?>> sampled;
+    private final SamplingStats[] stats;
+    private final SamplingPolicy<? super I> policy;
+
+    private SampledValidator(Builder<I> builder) {
+        this.always = new ArrayList<>(builder.always);
+        this.names = builder.sampled.keySet().toArray(new String[0]);
+        this.sampled = new ArrayList<>(builder.sampled.values());
+        this.stats = new SamplingStats[names.length];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new SamplingStats();
+        }
+        this.policy = builder.policy;
+    }
+
+    public static <I> Builder<I> builder() {
+        return new Builder<>();
+    }
+
+    @Override
+    public Validation<I, ValidationError> validate(I in) {
+        List<ValidationError> errors = null;
+        for (Rule<I, ?> rule : always) {
+            errors = collect(errors, rule.validate(in));
+        }
+        if (policy.shouldSample(in)) {
+            for (int i = 0; i < names.length; i++) {
+                Validation<?, ValidationError> validation = sampled.get(i).validate(in);
+                stats[i].ran(validation.isFailure());
+                errors = collect(errors, validation);
+            }
+        } else {
+            for (SamplingStats stat : stats) {
+                stat.skipped();
+            }
+        }
+        if (errors != null) {
+            return Validation.failure(errors);
+        }
+        return Validation.success(in);
+    }
+
+    private static List<ValidationError> collect(List<ValidationError> errors, Validation<?, ValidationError> validation) {
+        if (validation.isFailure()) {
+            if (errors == null) {
+                errors = new ArrayList<>();
+            }
+            errors.addAll(validation.getFailures());
+        }
+        return errors;
+    }
+
+    public SamplingStats stats(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return stats[i];
+            }
+        }
+        throw new IllegalArgumentException("No sampled rule named " + name);
+    }
+
+    /**
+     * Failure rate estimates of every sampled rule, in declaration order.
+     */
+    public Map<String, SamplingStats.Estimate> estimates() {
+        Map<String, SamplingStats.Estimate> estimates = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            estimates.put(names[i], stats[i].estimate());
+        }
+        return Collections.unmodifiableMap(estimates);
+    }
+
+    public static class Builder<I> {
+
+        private final List<Rule<I, ?>> always = new ArrayList<>();
+        private final Map<String, Rule<I, ?>> sampled = new LinkedHashMap<>();
+        private SamplingPolicy<? super I> policy = SamplingPolicy.always();
+
+        private Builder() {
+        }
+
+        /**
+         * A cheap rule, run on every input.
+         */
+        public Builder<I> always(Rule<I, ?> rule) {
+            always.add(rule);
+            return this;
+        }
+
+        /**
+         * An expensive rule, only run on the inputs sampled by the policy.
+         */
+        public Builder<I> sampled(String name, Rule<I, ?> rule) {
+            if (sampled.containsKey(name)) {
+                throw new IllegalArgumentException("Sampled rule " + name + " is already declared");
+            }
+            sampled.put(name, rule);
+            return this;
+        }
+
+        public Builder<I> policy(SamplingPolicy<? super I> policy) {
+            this.policy = policy;
+            return this;
+        }
+
+        public SampledValidator<I> build() {
+            return new SampledValidator<>(this);
+        }
+    }
+}
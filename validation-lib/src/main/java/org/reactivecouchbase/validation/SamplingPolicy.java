@@ -0,0 +1,107 @@
+package org.reactivecouchbase.validation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * Decides which inputs an expensive rule runs on, see {@link Rule#sampled(SamplingPolicy)} and {@link SampledValidator}.
+ */
+public abstract class SamplingPolicy<I> {
+
+    public abstract boolean shouldSample(I in);
+
+    /**
+     * Every input.
+     */
+    public static <I> SamplingPolicy<I> always() {
+        return new SamplingPolicy<I>() {
+            @Override
+            public boolean shouldSample(I in) {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Each input independently, with probability rate.
+     */
+    public static <I> SamplingPolicy<I> random(final double rate) {
+        checkRate(rate);
+        return new SamplingPolicy<I>() {
+            @Override
+            public boolean shouldSample(I in) {
+                return ThreadLocalRandom.current().nextDouble() < rate;
+            }
+        };
+    }
+
+    /**
+     * A rate fraction of the keys, always the same ones: an input is sampled on every run (and on every node) or never.
+     */
+    public static <I> SamplingPolicy<I> deterministic(final double rate, final ToLongFunction<? super I> key) {
+        checkRate(rate);
+        return new SamplingPolicy<I>() {
+            @Override
+            public boolean shouldSample(I in) {
+                return (mix(key.applyAsLong(in)) >>> 11) * 0x1.0p-53 < rate;
+            }
+        };
+    }
+
+    /**
+     * A rate fraction of the inputs, by {@link Object#hashCode()}.
+     */
+    public static <I> SamplingPolicy<I> deterministic(double rate) {
+        return deterministic(rate, in -> in == null ? 0 : in.hashCode());
+    }
+
+    /**
+     * Sample at most maxPerSecond of the inputs this policy samples, so that the cost of the expensive rules does not
+     * grow with the volume. Inputs are then no longer sampled uniformly during bursts.
+     *
+     * The current second and the inputs sampled in it are packed in a single atomic long (second in the high 32 bits,
+     * count in the low ones), so a new second starts with a count of zero for every thread.
+     */
+    public SamplingPolicy<I> withBudget(final long maxPerSecond) {
+        final SamplingPolicy<I> self = this;
+        final long budget = Math.min(maxPerSecond, 0xFFFFFFFFL);
+        final long origin = System.nanoTime();
+        final AtomicLong state = new AtomicLong();
+        return new SamplingPolicy<I>() {
+            @Override
+            public boolean shouldSample(I in) {
+                if (!self.shouldSample(in)) {
+                    return false;
+                }
+                long now = (System.nanoTime() - origin) / 1_000_000_000L;
+                while (true) {
+                    long current = state.get();
+                    long second = Math.max(now, current >>> 32);
+                    long count = second == current >>> 32 ? current & 0xFFFFFFFFL : 0;
+                    if (count >= budget) {
+                        return false;
+                    }
+                    if (state.compareAndSet(current, (second << 32) | (count + 1))) {
+                        return true;
+                    }
+                }
+            }
+        };
+    }
+
+    private static void checkRate(double rate) {
+        if (!(rate >= 0.0 && rate <= 1.0)) {
+            throw new IllegalArgumentException("Sampling rate must be between 0 and 1, got " + rate);
+        }
+    }
+
+    /**
+     * SplitMix64 finalizer, spreads close keys (ie. sequential ids) over the whole range.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,102 @@
+package org.reactivecouchbase.validation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts of a sampled rule: inputs seen, inputs the rule ran on, and failures among them.
+ */
+public class SamplingStats {
+
+    /**
+     * z for a 95% confidence interval.
+     */
+    public static final double Z_95 = 1.959964;
+
+    private final LongAdder seen = new LongAdder();
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    void skipped() {
+        seen.increment();
+    }
+
+    void ran(boolean failure) {
+        seen.increment();
+        sampled.increment();
+        if (failure) {
+            failed.increment();
+        }
+    }
+
+    public long seen() {
+        return seen.sum();
+    }
+
+    public long sampled() {
+        return sampled.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public void reset() {
+        seen.reset();
+        sampled.reset();
+        failed.reset();
+    }
+
+    public Estimate estimate() {
+        return estimate(Z_95);
+    }
+
+    /**
+     * Failure rate of all the inputs seen, estimated from the sample, with a Wilson score interval for the given z
+     * (1.96 for 95%, 2.576 for 99%).
+     */
+    public Estimate estimate(double z) {
+        long failures = failed.sum();
+        long n = sampled.sum();
+        long total = Math.max(seen.sum(), n);
+        if (n == 0) {
+            return new Estimate(total, 0, 0, 0.0, 0.0, 1.0);
+        }
+        double p = (double) failures / n;
+        double z2 = z * z;
+        double denominator = 1 + z2 / n;
+        double center = (p + z2 / (2.0 * n)) / denominator;
+        double half = z * Math.sqrt(p * (1 - p) / n + z2 / (4.0 * n * n)) / denominator;
+        return new Estimate(total, n, failures, p, Math.max(0.0, center - half), Math.min(1.0, center + half));
+    }
+
+    public static class Estimate {
+
+        public final long seen;
+        public final long sampled;
+        public final long failed;
+        public final double rate;
+        public final double lower;
+        public final double upper;
+
+        private Estimate(long seen, long sampled, long failed, double rate, double lower, double upper) {
+            this.seen = seen;
+            this.sampled = sampled;
+            this.failed = failed;
+            this.rate = rate;
+            this.lower = lower;
+            this.upper = upper;
+        }
+
+        /**
+         * Estimated number of failing inputs among all the inputs seen.
+         */
+        public double estimatedFailures() {
+            return rate * seen;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("failure rate %.4f [%.4f, %.4f] (%d failed / %d sampled / %d seen)", rate, lower, upper, failed, sampled, seen);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package org.reactivecouchbase.validation;
+
+/**
+ * Single pass scanners accepting exactly the same inputs as {@link Rules#EMAIL_PATTERN}, {@link Rules#URL_PATTERN} and
+ * {@link Rules#PHONE_PATTERN}, in linear time and without allocating.
+ */
+public final class Scanners {
+
+    private Scanners() {
+    }
+
+    public static boolean isEmail(CharSequence input) {
+        int length = input.length();
+        int at = -1;
+        boolean segmentStart = true;
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            if (c == '@') {
+                at = i;
+                break;
+            }
+            if (c == '.') {
+                if (segmentStart) {
+                    return false;
+                }
+                segmentStart = true;
+            } else if (isLocalChar(c)) {
+                segmentStart = false;
+            } else {
+                return false;
+            }
+        }
+        if (at <= 0 || segmentStart) {
+            return false;
+        }
+        int labels = 0;
+        int labelStart = at + 1;
+        for (int i = at + 1; i <= length; i++) {
+            if (i == length || input.charAt(i) == '.') {
+                boolean last = i == length;
+                if (i == labelStart) {
+                    return false;
+                }
+                char first = input.charAt(labelStart);
+                if (last ? !isAlphanumeric(first) : !isWordChar(first)) {
+                    return false;
+                }
+                if (!isWordChar(input.charAt(i - 1))) {
+                    return false;
+                }
+                labels++;
+                labelStart = i + 1;
+            } else {
+                char c = input.charAt(i);
+                if (!isWordChar(c) && c != '-') {
+                    return false;
+                }
+            }
+        }
+        return labels >= 2;
+    }
+
+    public static boolean isUrl(CharSequence input) {
+        int length = input.length();
+        int start;
+        if (startsWith(input, "http://")) {
+            start = 7;
+        } else if (startsWith(input, "https://")) {
+            start = 8;
+        } else if (startsWith(input, "ftp://")) {
+            start = 6;
+        } else {
+            return false;
+        }
+        int hostEnd = start;
+        while (hostEnd < length && isHostChar(input.charAt(hostEnd))) {
+            hostEnd++;
+        }
+        int lastOutsidePath = start - 1;
+        for (int i = length - 1; i >= start; i--) {
+            if (!isPathChar(input.charAt(i))) {
+                lastOutsidePath = i;
+                break;
+            }
+        }
+        // the host is [a-zA-Z0-9.-]+ then '.' and a 2 or 3 letters TLD, try every dot as the TLD separator
+        for (int dot = start + 1; dot < hostEnd; dot++) {
+            if (input.charAt(dot) != '.') {
+                continue;
+            }
+            int letters = 0;
+            while (letters < 3 && dot + 1 + letters < length && isLetter(input.charAt(dot + 1 + letters))) {
+                letters++;
+                int rest = dot + 1 + letters;
+                if (letters >= 2 && (lastOutsidePath < rest || (lastOutsidePath == rest && input.charAt(rest) == ':'))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public static boolean isPhone(CharSequence input) {
+        int length = input.length();
+        int i = 0;
+        if (i < length && input.charAt(i) == '+') {
+            int digits = countDigits(input, ++i, 3);
+            i += digits;
+            if (digits == 0 || i >= length || !isPhoneSeparator(input.charAt(i))) {
+                return false;
+            }
+            i++;
+        }
+        if (i < length && input.charAt(i) == '(') {
+            int digits = countDigits(input, ++i, 6);
+            i += digits;
+            if (digits < 2 || i >= length || input.charAt(i) != ')') {
+                return false;
+            }
+            i++;
+        }
+        int bodyStart = i;
+        while (i < length && isPhoneBodyChar(input.charAt(i))) {
+            i++;
+        }
+        if (i - bodyStart < 3 || i - bodyStart > 20) {
+            return false;
+        }
+        if (i == length) {
+            return true;
+        }
+        if (startsWith(input, i, "extension")) {
+            i += 9;
+        } else if (startsWith(input, i, "ext")) {
+            i += 3;
+        } else if (input.charAt(i) == 'x') {
+            i += 1;
+        } else {
+            return false;
+        }
+        if (i < length && input.charAt(i) == ' ') {
+            i++;
+        }
+        int digits = countDigits(input, i, 4);
+        return digits > 0 && i + digits == length;
+    }
+
+    private static int countDigits(CharSequence input, int from, int max) {
+        int count = 0;
+        while (from + count < input.length() && isDigit(input.charAt(from + count))) {
+            count++;
+            if (count > max) {
+                return 0;
+            }
+        }
+        return count;
+    }
+
+    private static boolean startsWith(CharSequence input, String prefix) {
+        return startsWith(input, 0, prefix);
+    }
+
+    private static boolean startsWith(CharSequence input, int from, String prefix) {
+        if (input.length() - from < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (input.charAt(from + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return isLetter(c) || isDigit(c);
+    }
+
+    private static boolean isWordChar(char c) {
+        return isAlphanumeric(c) || c == '_';
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isWordChar(c) || "!#$%&'*+/=?^`{|}~-".indexOf(c) >= 0;
+    }
+
+    private static boolean isHostChar(char c) {
+        return isAlphanumeric(c) || c == '-' || c == '.';
+    }
+
+    private static boolean isPathChar(char c) {
+        return isAlphanumeric(c) || "-._?,'/\\+&;%$#=~!".indexOf(c) >= 0;
+    }
+
+    private static boolean isPhoneSeparator(char c) {
+        return c == ' ' || c == '.' || c == '-';
+    }
+
+    private static boolean isPhoneBodyChar(char c) {
+        return isDigit(c) || c == ' ' || c == '.' || c == '-' || c == '/';
+    }
+}
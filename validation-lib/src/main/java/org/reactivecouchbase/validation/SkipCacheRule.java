@@ -0,0 +1,203 @@
+package org.reactivecouchbase.validation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Remembers the outcome of a rule per document key and version (ie. a Couchbase CAS), and returns it without running
+ * the rule again as long as the version did not change. See {@link Rule#skipUnchanged(ToLongFunction, ToLongFunction, int)}.
+ *
+ * Like {@link SampledRule}, the output is the input itself. Only the errors of a failure (or a success marker) are
+ * kept, never the validated documents.
+ *
+ * Entries live in primitive arrays split in segments, each one locked independently. A segment is open addressed
+ * with a short probe, when it is full a new entry overwrites an older one of its probe. {@code error.timeout}
+ * failures are never cached.
+ */
+public class SkipCacheRule<I> extends Rule<I, I> {
+
+    private static final int PROBES = 8;
+    private static final int MAX_SEGMENTS = 64;
+    private static final Object SUCCESS = new Object();
+
+    private final Rule<I, ?> rule;
+    private final ToLongFunction<? super I> keyOf;
+    private final ToLongFunction<? super I> versionOf;
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    SkipCacheRule(Rule<I, ?> rule, ToLongFunction<? super I> keyOf, ToLongFunction<? super I> versionOf, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+        }
+        int slots = Math.max(PROBES * 2, Integer.highestOneBit(Math.min(capacity, 1 << 29) * 2 - 1));
+        int count = Math.min(MAX_SEGMENTS, slots / (PROBES * 2));
+        this.rule = rule;
+        this.keyOf = keyOf;
+        this.versionOf = versionOf;
+        this.segments = new Segment[count];
+        this.segmentMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(slots / count);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Validation<I, ValidationError> validate(I in) {
+        long key = keyOf.applyAsLong(in);
+        long version = versionOf.applyAsLong(in);
+        long hash = mix(key);
+        Segment segment = segments[(int) (hash >>> 32) & segmentMask];
+        Object cached = segment.get(key, version, (int) hash);
+        if (cached != null) {
+            hits.increment();
+            return cached == SUCCESS ? Validation.success(in) : Validation.failure((List<ValidationError>) cached);
+        }
+        misses.increment();
+        Validation<?, ValidationError> validation = rule.validate(in);
+        if (validation.isSuccess()) {
+            segment.put(key, version, (int) hash, SUCCESS);
+            return Validation.success(in);
+        }
+        List<ValidationError> errors = validation.getFailures();
+        if (cacheable(errors)) {
+            segment.put(key, version, (int) hash, errors);
+        }
+        return Validation.failure(errors);
+    }
+
+    private static boolean cacheable(List<ValidationError> errors) {
+        for (int i = 0; i < errors.size(); i++) {
+            if ("error.timeout".equals(errors.get(i).code)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forget the outcome of a key, ie. when its document is deleted or the rule behind it changed.
+     */
+    public void invalidate(long key) {
+        long hash = mix(key);
+        segments[(int) (hash >>> 32) & segmentMask].remove(key, (int) hash);
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * 64 bits FNV-1a hash of a document id, to use string ids as keys. Two ids with the same hash and the same version
+     * would share an outcome, which is negligible with CAS versions.
+     */
+    public static long hash(CharSequence id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static class Segment {
+
+        private final long[] keys;
+        private final long[] versions;
+        private final Object[] outcomes;
+        private final int mask;
+        private int size;
+        private int victim;
+
+        Segment(int slots) {
+            this.keys = new long[slots];
+            this.versions = new long[slots];
+            this.outcomes = new Object[slots];
+            this.mask = slots - 1;
+        }
+
+        synchronized Object get(long key, long version, int hash) {
+            for (int i = 0; i < PROBES; i++) {
+                int slot = (hash + i) & mask;
+                if (outcomes[slot] != null && keys[slot] == key) {
+                    return versions[slot] == version ? outcomes[slot] : null;
+                }
+            }
+            return null;
+        }
+
+        synchronized void put(long key, long version, int hash, Object outcome) {
+            int free = -1;
+            for (int i = 0; i < PROBES; i++) {
+                int slot = (hash + i) & mask;
+                if (outcomes[slot] == null) {
+                    if (free < 0) {
+                        free = slot;
+                    }
+                } else if (keys[slot] == key) {
+                    versions[slot] = version;
+                    outcomes[slot] = outcome;
+                    return;
+                }
+            }
+            if (free < 0) {
+                free = (hash + (victim++ & (PROBES - 1))) & mask;
+            } else {
+                size++;
+            }
+            keys[free] = key;
+            versions[free] = version;
+            outcomes[free] = outcome;
+        }
+
+        synchronized void remove(long key, int hash) {
+            for (int i = 0; i < PROBES; i++) {
+                int slot = (hash + i) & mask;
+                if (outcomes[slot] != null && keys[slot] == key) {
+                    outcomes[slot] = null;
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        synchronized void clear() {
+            Arrays.fill(outcomes, null);
+            size = 0;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+    }
+}
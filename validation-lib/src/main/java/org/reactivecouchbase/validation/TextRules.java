@@ -0,0 +1,97 @@
+package org.reactivecouchbase.validation;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+import static org.reactivecouchbase.validation.Rule.validateWith;
+
+/**
+ * {@link Rules} string rules for any {@link CharSequence} (ie. a {@link StringBuilder} or a {@link Utf8Sequence}),
+ * so that input does not have to be turned into a {@link String} to be validated.
+ *
+ * Lengths are counted in code points, not in UTF-16 chars like {@link Rules#minLength(int)}, and are only counted
+ * when the char length is not enough to decide.
+ */
+public final class TextRules {
+
+    private static final ValidationError EMAIL_ERROR = ValidationError.withCode("error.email", "The specified value is not an email address");
+    private static final ValidationError URL_ERROR = ValidationError.withCode("error.url", "The specified value is not a URL");
+    private static final ValidationError PHONE_ERROR = ValidationError.withCode("error.phone", "The specified value is not a phone number");
+    private static final ValidationError REQUIRED_ERROR = ValidationError.withCode("error.required", "Validated value is null");
+    private static final ValidationError EMPTY_ERROR = ValidationError.withCode("error.empty", "Validated value is empty");
+
+    private TextRules() {
+    }
+
+    public static Rule<CharSequence, CharSequence> minLength(final int size) {
+        return validateWith(ValidationError.withCode("error.minLength", "Input does not match predicate", size),
+                input -> (input.length() + 1) / 2 >= size || codePointCount(input) >= size);
+    }
+
+    public static Rule<CharSequence, CharSequence> maxLength(final int size) {
+        return validateWith(ValidationError.withCode("error.maxLength", "Input does not match predicate", size),
+                input -> input.length() <= size || codePointCount(input) <= size);
+    }
+
+    /**
+     * Same as {@link Rules#mandatory()}, the input must not be null nor only made of whitespaces.
+     */
+    public static Rule<CharSequence, CharSequence> mandatory() {
+        return new Rule<CharSequence, CharSequence>() {
+            @Override
+            public Validation<CharSequence, ValidationError> validate(CharSequence in) {
+                if (in == null) {
+                    return Validation.failure(REQUIRED_ERROR);
+                }
+                for (int i = 0; i < in.length(); i++) {
+                    if (in.charAt(i) > ' ') {
+                        return Validation.success(in);
+                    }
+                }
+                return Validation.failure(EMPTY_ERROR);
+            }
+        };
+    }
+
+    public static Rule<CharSequence, CharSequence> email() {
+        return validateWith(EMAIL_ERROR, Scanners::isEmail);
+    }
+
+    public static Rule<CharSequence, CharSequence> url() {
+        return validateWith(URL_ERROR, Scanners::isUrl);
+    }
+
+    public static Rule<CharSequence, CharSequence> phone() {
+        return validateWith(PHONE_ERROR, Scanners::isPhone);
+    }
+
+    public static Rule<CharSequence, CharSequence> pattern(final String p) {
+        return pattern(ValidationError.withCode("error.pattern", "The specified value does not match pattern {}", p), p, null);
+    }
+
+    public static Rule<CharSequence, CharSequence> pattern(final String error, final String p) {
+        return pattern(ValidationError.withCode("error.pattern", error), p, null);
+    }
+
+    /**
+     * Abort the matching after timeout, see {@link Rules#pattern(String, String, Duration)}.
+     */
+    public static Rule<CharSequence, CharSequence> pattern(final String error, final String p, final Duration timeout) {
+        return pattern(ValidationError.withCode("error.pattern", error), p, timeout);
+    }
+
+    private static Rule<CharSequence, CharSequence> pattern(final ValidationError error, final String p, final Duration timeout) {
+        final Pattern compiled = Rules.compile(p);
+        if (compiled == null) {
+            return validateWith(error, input -> Pattern.matches(p, input));
+        }
+        return validateWith(error, input -> Rules.matches(compiled, timeout == null ? Deadline.guard(input) : Deadline.guard(input, timeout)));
+    }
+
+    public static int codePointCount(CharSequence input) {
+        if (input instanceof Utf8Sequence) {
+            return ((Utf8Sequence) input).codePointCount();
+        }
+        return Character.codePointCount(input, 0, input.length());
+    }
+}
@@ -0,0 +1,109 @@
+package org.reactivecouchbase.validation;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+/**
+ * Rules validating the UTF-8 bytes between the position and the limit of a {@link ByteBuffer} (ie. a field of a request
+ * body) without decoding them into a {@link String}: the rules of {@link TextRules} run on a {@link Utf8Sequence} view.
+ *
+ * Rules output the buffer itself, compose with {@link #decode()} to get a {@link String} only once the bytes are valid,
+ * ie. {@code Utf8Rules.maxLength(64).compose(Utf8Rules.decode())}. Malformed UTF-8 fails every rule with
+ * {@code error.utf8}.
+ *
+ * Every rule checks and scans the bytes, combine the char rules first to scan them once, ie.
+ * {@code Utf8Rules.chars(TextRules.mandatory().combine(TextRules.maxLength(64)))}.
+ */
+public final class Utf8Rules {
+
+    private static final ValidationError REQUIRED_ERROR = ValidationError.withCode("error.required", "Input can't be null");
+    private static final ValidationError UTF8_ERROR = ValidationError.withCode("error.utf8", "The specified value is not valid UTF-8");
+
+    private Utf8Rules() {
+    }
+
+    /**
+     * Run a {@link CharSequence} rule on the view of the bytes.
+     */
+    public static Rule<ByteBuffer, ByteBuffer> chars(final Rule<CharSequence, ?> rule) {
+        return new Rule<ByteBuffer, ByteBuffer>() {
+            @Override
+            public Validation<ByteBuffer, ValidationError> validate(ByteBuffer in) {
+                if (in == null) {
+                    return Validation.failure(REQUIRED_ERROR);
+                }
+                Utf8Sequence chars = Utf8Sequence.view(in);
+                if (chars == null) {
+                    return Validation.failure(UTF8_ERROR);
+                }
+                Validation<?, ValidationError> validation = rule.validate(chars);
+                if (validation.isFailure()) {
+                    return Validation.failure(validation.getFailures());
+                }
+                return Validation.success(in);
+            }
+        };
+    }
+
+    public static Rule<ByteBuffer, ByteBuffer> valid() {
+        return chars(Rules.<CharSequence>pass());
+    }
+
+    public static Rule<ByteBuffer, String> decode() {
+        return new Rule<ByteBuffer, String>() {
+            @Override
+            public Validation<String, ValidationError> validate(ByteBuffer in) {
+                if (in == null) {
+                    return Validation.failure(REQUIRED_ERROR);
+                }
+                Utf8Sequence chars = Utf8Sequence.view(in);
+                if (chars == null) {
+                    return Validation.failure(UTF8_ERROR);
+                }
+                return Validation.success(chars.toString());
+            }
+        };
+    }
+
+    /**
+     * At least size code points.
+     */
+    public static Rule<ByteBuffer, ByteBuffer> minLength(int size) {
+        return chars(TextRules.minLength(size));
+    }
+
+    /**
+     * At most size code points.
+     */
+    public static Rule<ByteBuffer, ByteBuffer> maxLength(int size) {
+        return chars(TextRules.maxLength(size));
+    }
+
+    public static Rule<ByteBuffer, ByteBuffer> mandatory() {
+        return chars(TextRules.mandatory());
+    }
+
+    public static Rule<ByteBuffer, ByteBuffer> email() {
+        return chars(TextRules.email());
+    }
+
+    public static Rule<ByteBuffer, ByteBuffer> url() {
+        return chars(TextRules.url());
+    }
+
+    public static Rule<ByteBuffer, ByteBuffer> phone() {
+        return chars(TextRules.phone());
+    }
+
+    public static Rule<ByteBuffer, ByteBuffer> pattern(String p) {
+        return chars(TextRules.pattern(p));
+    }
+
+    public static Rule<ByteBuffer, ByteBuffer> pattern(String error, String p) {
+        return chars(TextRules.pattern(error, p));
+    }
+
+    public static Rule<ByteBuffer, ByteBuffer> pattern(String error, String p, Duration timeout) {
+        return chars(TextRules.pattern(error, p, timeout));
+    }
+}
@@ -0,0 +1,250 @@
+package org.reactivecouchbase.validation;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Zero copy {@link CharSequence} view of the UTF-8 bytes between the position and the limit of a {@link ByteBuffer}.
+ *
+ * Bytes are checked to be well formed UTF-8 once, when the view is created, in the same pass that computes the length.
+ * ASCII input is then read byte per char, other input is decoded on the fly around a cursor, which makes sequential
+ * reads (regexes, scanners) linear. The buffer position is never moved, but a view is not thread safe and the bytes
+ * must not change while it is in use. {@link #toString()} is the only method that builds a {@link String}.
+ */
+public final class Utf8Sequence implements CharSequence {
+
+    private static final long ASCII_MASK = 0x8080808080808080L;
+
+    private final ByteBuffer buffer;
+    private final int start;
+    private final int end;
+    private final int length;
+    private final int codePoints;
+    private final boolean ascii;
+    private int cursorChar;
+    private int cursorByte;
+
+    private Utf8Sequence(ByteBuffer buffer, int start, int end, int length, int codePoints) {
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+        this.length = length;
+        this.codePoints = codePoints;
+        this.ascii = length == end - start;
+        this.cursorChar = 0;
+        this.cursorByte = start;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not well formed UTF-8
+     */
+    public static Utf8Sequence of(ByteBuffer buffer) {
+        Utf8Sequence sequence = view(buffer);
+        if (sequence == null) {
+            throw new IllegalArgumentException("Malformed UTF-8 input");
+        }
+        return sequence;
+    }
+
+    /**
+     * The view of the buffer, or null if the bytes are not well formed UTF-8.
+     */
+    static Utf8Sequence view(ByteBuffer buffer) {
+        int start = buffer.position();
+        int end = buffer.limit();
+        int length = 0;
+        int codePoints = 0;
+        int i = start;
+        while (i < end) {
+            if (i + 8 <= end && (buffer.getLong(i) & ASCII_MASK) == 0) {
+                i += 8;
+                length += 8;
+                codePoints += 8;
+                continue;
+            }
+            int b0 = buffer.get(i) & 0xFF;
+            if (b0 < 0x80) {
+                i++;
+                length++;
+            } else {
+                int size = sequenceSize(buffer, i, end, b0);
+                if (size < 0) {
+                    return null;
+                }
+                i += size;
+                length += size == 4 ? 2 : 1;
+            }
+            codePoints++;
+        }
+        return new Utf8Sequence(buffer, start, end, length, codePoints);
+    }
+
+    /**
+     * Size of the well formed multi byte sequence starting at i, -1 if it is malformed (overlong, surrogate, out of range
+     * or truncated).
+     */
+    private static int sequenceSize(ByteBuffer buffer, int i, int end, int b0) {
+        int size;
+        int min = 0x80;
+        int max = 0xBF;
+        if (b0 >= 0xC2 && b0 <= 0xDF) {
+            size = 2;
+        } else if (b0 >= 0xE0 && b0 <= 0xEF) {
+            size = 3;
+            if (b0 == 0xE0) {
+                min = 0xA0;
+            } else if (b0 == 0xED) {
+                max = 0x9F;
+            }
+        } else if (b0 >= 0xF0 && b0 <= 0xF4) {
+            size = 4;
+            if (b0 == 0xF0) {
+                min = 0x90;
+            } else if (b0 == 0xF4) {
+                max = 0x8F;
+            }
+        } else {
+            return -1;
+        }
+        if (i + size > end) {
+            return -1;
+        }
+        int b1 = buffer.get(i + 1) & 0xFF;
+        if (b1 < min || b1 > max) {
+            return -1;
+        }
+        for (int j = 2; j < size; j++) {
+            if ((buffer.get(i + j) & 0xC0) != 0x80) {
+                return -1;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Length in UTF-16 chars, like {@link String#length()}.
+     */
+    @Override
+    public int length() {
+        return length;
+    }
+
+    public int codePointCount() {
+        return codePoints;
+    }
+
+    public boolean isAscii() {
+        return ascii;
+    }
+
+    /**
+     * Size of the view in bytes.
+     */
+    public int byteLength() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+        }
+        if (ascii) {
+            return (char) buffer.get(start + index);
+        }
+        seek(index);
+        int c = cursorChar;
+        int b = cursorByte;
+        int lead = buffer.get(b) & 0xFF;
+        if (lead < 0x80) {
+            return (char) lead;
+        }
+        if (lead < 0xE0) {
+            return (char) (((lead & 0x1F) << 6) | (buffer.get(b + 1) & 0x3F));
+        }
+        if (lead < 0xF0) {
+            return (char) (((lead & 0x0F) << 12) | ((buffer.get(b + 1) & 0x3F) << 6) | (buffer.get(b + 2) & 0x3F));
+        }
+        int codePoint = ((lead & 0x07) << 18) | ((buffer.get(b + 1) & 0x3F) << 12) | ((buffer.get(b + 2) & 0x3F) << 6) | (buffer.get(b + 3) & 0x3F);
+        return index == c ? Character.highSurrogate(codePoint) : Character.lowSurrogate(codePoint);
+    }
+
+    /**
+     * Move the cursor to the code point holding the char at index, restarting from the beginning when it is closer.
+     */
+    private void seek(int index) {
+        int c = cursorChar;
+        int b = cursorByte;
+        if (index < c) {
+            if (index < c - index) {
+                c = 0;
+                b = start;
+            } else {
+                while (c > index) {
+                    b--;
+                    while ((buffer.get(b) & 0xC0) == 0x80) {
+                        b--;
+                    }
+                    c -= (buffer.get(b) & 0xFF) >= 0xF0 ? 2 : 1;
+                }
+            }
+        }
+        int lead = buffer.get(b) & 0xFF;
+        while (index >= c + (lead >= 0xF0 ? 2 : 1)) {
+            c += lead >= 0xF0 ? 2 : 1;
+            b += lead < 0x80 ? 1 : lead < 0xE0 ? 2 : lead < 0xF0 ? 3 : 4;
+            lead = buffer.get(b) & 0xFF;
+        }
+        cursorChar = c;
+        cursorByte = b;
+    }
+
+    /**
+     * Offset of the first byte of the char at index, -1 if the char is the second half of a surrogate pair.
+     */
+    private int byteOffset(int index) {
+        if (index == length) {
+            return end;
+        }
+        seek(index);
+        return index == cursorChar ? cursorByte : -1;
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        if (from < 0 || to > length || from > to) {
+            throw new IndexOutOfBoundsException("From: " + from + ", To: " + to + ", Length: " + length);
+        }
+        if (ascii) {
+            return new Utf8Sequence(buffer, start + from, start + to, to - from, to - from);
+        }
+        int fromByte = byteOffset(from);
+        int toByte = byteOffset(to);
+        if (fromByte < 0 || toByte < 0) {
+            StringBuilder chars = new StringBuilder(to - from);
+            for (int i = from; i < to; i++) {
+                chars.append(charAt(i));
+            }
+            return chars;
+        }
+        int subCodePoints = 0;
+        for (int i = fromByte; i < toByte; i++) {
+            if ((buffer.get(i) & 0xC0) != 0x80) {
+                subCodePoints++;
+            }
+        }
+        return new Utf8Sequence(buffer, fromByte, toByte, to - from, subCodePoints);
+    }
+
+    @Override
+    public String toString() {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
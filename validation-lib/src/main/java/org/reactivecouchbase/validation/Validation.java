@@ -3,8 +3,6 @@ package org.reactivecouchbase.validation;
 import org.reactivecouchbase.functional.Option;
 import org.reactivecouchbase.functional.Unit;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -31,8 +29,7 @@ public abstract class Validation<T, E> {
 
     @SuppressWarnings("unchecked")
     public static <T, E> Validation<T, E> failure(E error) {
-        List<E> errors = new ArrayList<>(Collections.singletonList(error));
-        return failure(errors);
+        return failure(ErrorList.of(error));
     }
 
     public abstract Option<ValidationFailure<T, E>> asFailure();
@@ -71,6 +68,13 @@ public abstract class Validation<T, E> {
         return this;
     }
 
+    public Validation<T, E> orThrow(boolean captureStackTrace) {
+        if (isFailure()) {
+            throw new ValidationException((ValidationFailure<T, E>) this, captureStackTrace);
+        }
+        return this;
+    }
+
     public T get() {
         return asOption().get();
     }
@@ -182,15 +186,15 @@ public abstract class Validation<T, E> {
             return validation;
         }
         return Validation.failure(validation.getFailures()
-                .stream().map(input -> new ValidationError(path, input.message))
+                .stream().map(input -> input.repath(path))
                 .collect(Collectors.toList()));
     }
 
     private static <T, E> Validation<T, E> populateErrs(Validation<T, E> finalValidation, Validation<?, E>... validations) {
-        List<E> failures = new ArrayList<>();
+        ErrorList<E> failures = ErrorList.empty();
         for (Validation<?, E> validation : validations) {
-            for (List<E> failureList : validation.onFailure()) {
-                failures.addAll(failureList);
+            if (validation.isFailure()) {
+                failures = failures.concat(validation.getFailures());
             }
         }
         if (failures.isEmpty() && finalValidation.isSuccess()) {
@@ -220,10 +224,10 @@ public abstract class Validation<T, E> {
         }
 
         public Validation<T, E> withValidations(Validation<?, E>... subValidations) {
-            List<E> failures = new ArrayList<>();
+            ErrorList<E> failures = ErrorList.empty();
             for (Validation<?, E> validation : subValidations) {
-                for (List<E> failureList : validation.onFailure()) {
-                    failures.addAll(failureList);
+                if (validation.isFailure()) {
+                    failures = failures.concat(validation.getFailures());
                 }
             }
             if (failures.isEmpty()) {
@@ -1,28 +1,49 @@
 package org.reactivecouchbase.validation;
 
+/**
+ * An error at a given path. The message is only rendered (through the current {@link MessageResolver})
+ * the first time someone reads it, so failures that are only counted never build strings. The rendering is kept
+ * for the resolver that produced it, errors shared between failures are rendered again when the resolver changes.
+ */
 public class ValidationError {
 
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private static volatile MessageResolver resolver = MessageResolver.DEFAULT;
+
     public final Paths.Path path;
-    public final String message;
+    public final String code;
+    private final String template;
+    private final Object[] args;
+    private final Exception exception;
+    private volatile Rendered rendered;
 
-    public ValidationError(Paths.Path path, String message) {
+    private ValidationError(Paths.Path path, String code, String template, Object[] args, Exception exception) {
         this.path = path;
-        this.message = message;
+        this.code = code;
+        this.template = template;
+        this.args = args;
+        this.exception = exception;
+    }
+
+    public ValidationError(Paths.Path path, String message) {
+        this(path, null, message, NO_ARGS, null);
     }
 
     public ValidationError(String message) {
-        this.path = Paths.Root;
-        this.message = message;
+        this(Paths.Root, message);
     }
 
     public ValidationError(Paths.Path path, Exception message) {
-        this.path = path;
-        this.message = message.getMessage();
+        this(path, message instanceof DeadlineExceededException ? "error.timeout" : null, null, NO_ARGS, message);
     }
 
     public ValidationError(Exception message) {
-        this.path = Paths.Root;
-        this.message = message.getMessage();
+        this(Paths.Root, message);
+    }
+
+    public ValidationError(Paths.Path path, String code, String template, Object... args) {
+        this(path, code, template, args == null ? NO_ARGS : args, null);
     }
 
     public static ValidationError of(String message) {
@@ -41,8 +62,69 @@ public class ValidationError {
         return new ValidationError(path, message);
     }
 
+    public static ValidationError withCode(String code, String template, Object... args) {
+        return new ValidationError(Paths.Root, code, template, args);
+    }
+
+    public static ValidationError at(Paths.Path path, String code, String template, Object... args) {
+        return new ValidationError(path, code, template, args);
+    }
+
+    /**
+     * Change the resolver used to render messages, including messages already read.
+     */
+    public static void useMessageResolver(MessageResolver messageResolver) {
+        resolver = messageResolver == null ? MessageResolver.DEFAULT : messageResolver;
+    }
+
+    public String message() {
+        if (exception == null && template == null) {
+            return null;
+        }
+        MessageResolver current = resolver;
+        Rendered r = rendered;
+        if (r == null || r.resolver != current) {
+            r = new Rendered(current, message(current));
+            rendered = r;
+        }
+        return r.message;
+    }
+
+    public String message(MessageResolver messageResolver) {
+        if (exception != null) {
+            return exception.getMessage();
+        }
+        return messageResolver.resolve(code, template, args);
+    }
+
+    public String template() {
+        return template;
+    }
+
+    public Object[] args() {
+        return args.clone();
+    }
+
+    /**
+     * Same error at another path, the message is not rendered.
+     */
+    public ValidationError repath(Paths.Path newPath) {
+        return new ValidationError(newPath, code, template, args, exception);
+    }
+
     @Override
     public String toString() {
-        return "ValidationError @ ( " + path + " => " + message + " )";
+        return "ValidationError @ ( " + path + " => " + message() + " )";
+    }
+
+    private static final class Rendered {
+
+        private final MessageResolver resolver;
+        private final String message;
+
+        private Rendered(MessageResolver resolver, String message) {
+            this.resolver = resolver;
+            this.message = message;
+        }
     }
 }
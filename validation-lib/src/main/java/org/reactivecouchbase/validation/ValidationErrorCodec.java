@@ -0,0 +1,288 @@
+package org.reactivecouchbase.validation;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of error lists, to ship validation results between nodes.
+ *
+ * Layout: a version byte, a dictionary of every distinct string (path keys, codes, templates, arguments), the number
+ * of errors, a table of fixed size offsets, then each error as varints: path nodes (dictionary index or zigzag encoded
+ * array index, so that any int round-trips), code, template and arguments (dictionary indexes). Arguments travel as their string representation.
+ *
+ * Decoding does not copy the buffer: strings and errors are only decoded when accessed, so a consumer that only
+ * counts errors or looks at the first one pays for nothing else.
+ */
+public class ValidationErrorCodec {
+
+    private static final byte VERSION = 2;
+
+    private static final int KEY = 0;
+    private static final int INDEX = 1;
+    private static final int ANY_INDEX = 2;
+
+    private ValidationErrorCodec() {
+    }
+
+    public static ByteBuffer encode(List<ValidationError> errors) {
+        Output out = encodeToOutput(errors);
+        return ByteBuffer.wrap(out.bytes, 0, out.position);
+    }
+
+    /**
+     * Write the errors at the position of the target buffer.
+     *
+     * @throws java.nio.BufferOverflowException if the remaining space of the buffer is not enough
+     */
+    public static void encode(List<ValidationError> errors, ByteBuffer target) {
+        Output out = encodeToOutput(errors);
+        target.put(out.bytes, 0, out.position);
+    }
+
+    /**
+     * Lazy, read-only view on the errors encoded from the position of the buffer. The buffer must not be modified
+     * while the list is in use.
+     */
+    public static List<ValidationError> decode(ByteBuffer buffer) {
+        return new DecodedErrors(buffer.slice());
+    }
+
+    private static Output encodeToOutput(List<ValidationError> errors) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        Output data = new Output(errors.size() * 16);
+        int[] offsets = new int[errors.size()];
+        int i = 0;
+        for (ValidationError error : errors) {
+            offsets[i++] = data.position;
+            List<Paths.PathNode> nodes = error.path.path;
+            data.writeVarInt(nodes.size());
+            for (Paths.PathNode node : nodes) {
+                if (node instanceof Paths.IndexPathNode) {
+                    data.writeVarLong((zigzag(((Paths.IndexPathNode) node).index) << 2) | INDEX);
+                } else if (node instanceof Paths.WildcardIndexPathNode) {
+                    data.writeVarLong(ANY_INDEX);
+                } else {
+                    data.writeVarLong(((long) index(dictionary, node.stringify()) << 2) | KEY);
+                }
+            }
+            data.writeVarInt(error.code == null ? 0 : index(dictionary, error.code) + 1);
+            String template = error.template();
+            Object[] args = error.args();
+            if (template == null) {
+                template = error.message();
+                args = new Object[0];
+            }
+            data.writeVarInt(template == null ? 0 : index(dictionary, template) + 1);
+            data.writeVarInt(args.length);
+            for (Object arg : args) {
+                data.writeVarInt(index(dictionary, String.valueOf(arg)));
+            }
+        }
+        Output out = new Output(data.position + errors.size() * 4 + dictionary.size() * 16 + 16);
+        out.writeByte(VERSION);
+        out.writeVarInt(dictionary.size());
+        for (String value : dictionary.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeVarInt(bytes.length);
+            out.writeBytes(bytes, 0, bytes.length);
+        }
+        out.writeVarInt(errors.size());
+        for (int offset : offsets) {
+            out.writeInt(offset);
+        }
+        out.writeBytes(data.bytes, 0, data.position);
+        return out;
+    }
+
+    private static int index(Map<String, Integer> dictionary, String value) {
+        Integer index = dictionary.get(value);
+        if (index == null) {
+            index = dictionary.size();
+            dictionary.put(value, index);
+        }
+        return index;
+    }
+
+    private static class Output {
+
+        private byte[] bytes;
+        private int position = 0;
+
+        private Output(int capacity) {
+            this.bytes = new byte[Math.max(16, capacity)];
+        }
+
+        private void ensure(int size) {
+            if (position + size > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + size));
+            }
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[position++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            bytes[position++] = (byte) (value >>> 24);
+            bytes[position++] = (byte) (value >>> 16);
+            bytes[position++] = (byte) (value >>> 8);
+            bytes[position++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[position++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[position++] = (byte) value;
+        }
+
+        void writeBytes(byte[] source, int offset, int length) {
+            ensure(length);
+            System.arraycopy(source, offset, bytes, position, length);
+            position += length;
+        }
+    }
+
+    private static long zigzag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    private static class DecodedErrors extends AbstractList<ValidationError> {
+
+        private final ByteBuffer buffer;
+        private final int[] stringOffsets;
+        private final String[] strings;
+        private final int size;
+        private final int offsetTable;
+        private final int data;
+        private final ValidationError[] errors;
+
+        private DecodedErrors(ByteBuffer buffer) {
+            this.buffer = buffer;
+            if (buffer.get(0) != VERSION) {
+                throw new IllegalArgumentException("Unsupported encoding version " + buffer.get(0));
+            }
+            int[] cursor = {1};
+            int dictionarySize = readVarInt(cursor);
+            this.stringOffsets = new int[dictionarySize];
+            this.strings = new String[dictionarySize];
+            for (int i = 0; i < dictionarySize; i++) {
+                stringOffsets[i] = cursor[0];
+                int length = readVarInt(cursor);
+                cursor[0] += length;
+            }
+            this.size = readVarInt(cursor);
+            this.offsetTable = cursor[0];
+            this.data = offsetTable + size * 4;
+            this.errors = new ValidationError[size];
+        }
+
+        private int readVarInt(int[] cursor) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(cursor[0]++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private long readVarLong(int[] cursor) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(cursor[0]++);
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        private String string(int index) {
+            String value = strings[index];
+            if (value == null) {
+                int[] cursor = {stringOffsets[index]};
+                int length = readVarInt(cursor);
+                byte[] bytes = new byte[length];
+                for (int i = 0; i < length; i++) {
+                    bytes[i] = buffer.get(cursor[0] + i);
+                }
+                value = new String(bytes, StandardCharsets.UTF_8);
+                strings[index] = value;
+            }
+            return value;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public ValidationError get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            ValidationError error = errors[index];
+            if (error == null) {
+                error = decodeError(buffer.getInt(offsetTable + index * 4));
+                errors[index] = error;
+            }
+            return error;
+        }
+
+        private ValidationError decodeError(int offset) {
+            int[] cursor = {data + offset};
+            int nodeCount = readVarInt(cursor);
+            List<Paths.PathNode> nodes = new ArrayList<>(nodeCount);
+            for (int i = 0; i < nodeCount; i++) {
+                long node = readVarLong(cursor);
+                switch ((int) node & 3) {
+                    case INDEX:
+                        int encoded = (int) (node >>> 2);
+                        nodes.add(Paths.index((encoded >>> 1) ^ -(encoded & 1)));
+                        break;
+                    case ANY_INDEX:
+                        nodes.add(Paths.AnyIndex);
+                        break;
+                    default:
+                        nodes.add(Paths.key(string((int) (node >>> 2))));
+                }
+            }
+            int code = readVarInt(cursor);
+            int template = readVarInt(cursor);
+            Object[] args = new Object[readVarInt(cursor)];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = string(readVarInt(cursor));
+            }
+            return ValidationError.at(
+                nodeCount == 0 ? Paths.Root : new Paths.Path(nodes),
+                code == 0 ? null : string(code - 1),
+                template == 0 ? null : string(template - 1),
+                args
+            );
+        }
+    }
+}
@@ -2,15 +2,44 @@ package org.reactivecouchbase.validation;
 
 import java.util.stream.Collectors;
 
+/**
+ * Thrown by {@link Validation#orThrow()}. The message joining every error is only built on first {@link #getMessage()}.
+ *
+ * Capturing the stack trace is the main cost of throwing, and useless when exceptions are used for control flow
+ * at a request boundary: it can be disabled globally with {@link #captureStackTraces(boolean)}
+ * or per call with {@link Validation#orThrow(boolean)}.
+ */
 public class ValidationException extends RuntimeException {
 
+    private static volatile boolean captureStackTraces = true;
+
     private final transient ValidationFailure<?, ?> failure;
 
+    private volatile String message;
+
     public ValidationException(ValidationFailure<?, ?> failure) {
-        super(failure.getFailures().stream().filter(i -> i != null).map(Object::toString).collect(Collectors.joining("\n")));
+        this(failure, captureStackTraces);
+    }
+
+    public ValidationException(ValidationFailure<?, ?> failure, boolean captureStackTrace) {
+        super(null, null, captureStackTrace, captureStackTrace);
         this.failure = failure;
     }
 
+    public static void captureStackTraces(boolean capture) {
+        captureStackTraces = capture;
+    }
+
+    @Override
+    public String getMessage() {
+        String m = message;
+        if (m == null) {
+            m = failure.getFailures().stream().filter(i -> i != null).map(Object::toString).collect(Collectors.joining("\n"));
+            message = m;
+        }
+        return m;
+    }
+
     @SuppressWarnings("unchecked")
     public <T, E> ValidationFailure<T, E> getFailure() {
         return (ValidationFailure<T, E>) failure;
@@ -6,10 +6,10 @@ import java.util.List;
 
 public class ValidationFailure<T, E> extends Validation<T, E> {
 
-    private final List<E> errors;
+    private final ErrorList<E> errors;
 
     ValidationFailure(List<E> errors) {
-        this.errors = errors;
+        this.errors = ErrorList.of(errors);
     }
 
     @Override
@@ -17,6 +17,9 @@ public class ValidationFailure<T, E> extends Validation<T, E> {
         throw new RuntimeException("Not a ValidationSuccess !!!");
     }
 
+    /**
+     * Unmodifiable, build a new failure (ie. with {@link ErrorList#concat(List)}) to add errors.
+     */
     @Override
     public List<E> getFailures() {
         return errors;
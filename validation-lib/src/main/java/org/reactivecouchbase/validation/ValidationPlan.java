@@ -0,0 +1,160 @@
+package org.reactivecouchbase.validation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Validation of an object as a set of named steps (usually one per field) where a step can depend on other steps,
+ * ie. {@code endDate} is only checked against {@code startDate} if {@code startDate} is valid.
+ *
+ * Independent branches run concurrently on a {@link ForkJoinPool}. A step whose prerequisites failed (or were skipped)
+ * is skipped. Errors are returned in declaration order, exactly as {@link #validateSequentially(Object)} would.
+ */
+public class ValidationPlan<T> extends Rule<T, T> {
+
+    private final List<Step<T>> steps;
+    private final ForkJoinPool pool;
+
+    private ValidationPlan(List<Step<T>> steps, ForkJoinPool pool) {
+        this.steps = steps;
+        this.pool = pool;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public ValidationPlan<T> withPool(ForkJoinPool pool) {
+        return new ValidationPlan<>(steps, pool);
+    }
+
+    @Override
+    public Validation<T, ValidationError> validate(final T in) {
+        final List<CompletableFuture<Validation<?, ValidationError>>> futures = new ArrayList<>(steps.size());
+        for (final Step<T> step : steps) {
+            if (step.dependencies.length == 0) {
+                futures.add(CompletableFuture.supplyAsync(() -> step.run(in), pool));
+            } else {
+                final CompletableFuture<Validation<?, ValidationError>>[] prerequisites = newFutures(step.dependencies.length);
+                for (int i = 0; i < prerequisites.length; i++) {
+                    prerequisites[i] = futures.get(step.dependencies[i]);
+                }
+                futures.add(CompletableFuture.allOf(prerequisites).thenApplyAsync(v -> {
+                    for (CompletableFuture<Validation<?, ValidationError>> prerequisite : prerequisites) {
+                        if (!succeeded(prerequisite.join())) {
+                            return null;
+                        }
+                    }
+                    return step.run(in);
+                }, pool));
+            }
+        }
+        List<Validation<?, ValidationError>> results = new ArrayList<>(steps.size());
+        for (CompletableFuture<Validation<?, ValidationError>> future : futures) {
+            results.add(future.join());
+        }
+        return collect(in, results);
+    }
+
+    /**
+     * Run every step in declaration order on the calling thread.
+     */
+    public Validation<T, ValidationError> validateSequentially(T in) {
+        List<Validation<?, ValidationError>> results = new ArrayList<>(steps.size());
+        for (Step<T> step : steps) {
+            boolean runnable = true;
+            for (int dependency : step.dependencies) {
+                runnable = runnable && succeeded(results.get(dependency));
+            }
+            results.add(runnable ? step.run(in) : null);
+        }
+        return collect(in, results);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <X> CompletableFuture<X>[] newFutures(int size) {
+        return (CompletableFuture<X>[]) new CompletableFuture<?>[size];
+    }
+
+    private static boolean succeeded(Validation<?, ValidationError> validation) {
+        return validation != null && validation.isSuccess();
+    }
+
+    private static <T> Validation<T, ValidationError> collect(T in, List<Validation<?, ValidationError>> results) {
+        ErrorList<ValidationError> errors = ErrorList.empty();
+        for (Validation<?, ValidationError> validation : results) {
+            if (validation != null && validation.isFailure()) {
+                errors = errors.concat(validation.getFailures());
+            }
+        }
+        if (errors.isEmpty()) {
+            return Validation.success(in);
+        }
+        return Validation.failure(errors);
+    }
+
+    public static class Builder<T> {
+
+        private final List<Step<T>> steps = new ArrayList<>();
+        private final Map<String, Integer> names = new HashMap<>();
+
+        private Builder() {
+        }
+
+        public Builder<T> step(String name, Rule<T, ?> rule) {
+            return step(name, Collections.<String>emptyList(), rule);
+        }
+
+        public Builder<T> step(String name, String dependency, Rule<T, ?> rule) {
+            return step(name, Collections.singletonList(dependency), rule);
+        }
+
+        /**
+         * Dependencies must be declared before the step depending on them, which rules out cycles.
+         */
+        public Builder<T> step(String name, List<String> dependencies, Rule<T, ?> rule) {
+            if (names.containsKey(name)) {
+                throw new IllegalArgumentException("Step " + name + " is already declared");
+            }
+            int[] indexes = new int[dependencies.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                Integer index = names.get(dependencies.get(i));
+                if (index == null) {
+                    throw new IllegalArgumentException("Step " + name + " depends on undeclared step " + dependencies.get(i));
+                }
+                indexes[i] = index;
+            }
+            names.put(name, steps.size());
+            steps.add(new Step<>(rule, indexes));
+            return this;
+        }
+
+        public ValidationPlan<T> build() {
+            return new ValidationPlan<>(new ArrayList<>(steps), ForkJoinPool.commonPool());
+        }
+    }
+
+    private static class Step<T> {
+
+        private final Rule<T, ?> rule;
+        private final int[] dependencies;
+
+        private Step(Rule<T, ?> rule, int[] dependencies) {
+            this.rule = rule;
+            this.dependencies = dependencies;
+        }
+
+        Validation<?, ValidationError> run(T in) {
+            try {
+                return rule.validate(in);
+            } catch (Exception e) {
+                return Validation.failure(new ValidationError(e));
+            }
+        }
+    }
+}
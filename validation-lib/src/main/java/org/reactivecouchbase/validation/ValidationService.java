@@ -0,0 +1,302 @@
+package org.reactivecouchbase.validation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process validation service. Submissions go to a bounded queue, a dispatcher groups them into micro-batches
+ * (up to {@code maxBatchSize} inputs or {@code maxBatchDelay} after the first one) and a bounded pool of workers
+ * validates each batch.
+ *
+ * When workers are all busy the dispatcher stops draining the queue, and when the queue is full submissions are
+ * either rejected (the returned future fails with a {@link RejectedExecutionException}) or block the caller.
+ */
+public class ValidationService<I, O> implements AutoCloseable {
+
+    public enum OverflowPolicy {
+        REJECT, BLOCK
+    }
+
+    private final Rule<I, O> rule;
+    private final int maxBatchSize;
+    private final long maxBatchDelayNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final BlockingQueue<Submission<I, O>> queue;
+    private final ThreadPoolExecutor workers;
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+    private final ReadWriteLock closing = new ReentrantReadWriteLock();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedInputs = new LongAdder();
+    private final LongAdder batchLatencyNanos = new LongAdder();
+    private final AtomicLong maxBatchLatencyNanos = new AtomicLong();
+
+    private ValidationService(Builder<I, O> builder) {
+        this.rule = builder.rule;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.maxBatchDelayNanos = builder.maxBatchDelay.toNanos();
+        this.overflowPolicy = builder.overflowPolicy;
+        this.queue = new ArrayBlockingQueue<>(builder.queueCapacity);
+        this.workers = new ThreadPoolExecutor(builder.workers, builder.workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(builder.workers), runnable -> {
+                Thread thread = new Thread(runnable, "validation-service-worker");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.dispatcher = new Thread(this::dispatch, "validation-service-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    public static <I, O> Builder<I, O> builder(Rule<I, O> rule) {
+        return new Builder<>(rule);
+    }
+
+    /**
+     * Submissions hold the read side of {@code closing} from the running check to the enqueue, so that {@link #close()}
+     * only drains the queue once no submission can reach it anymore.
+     */
+    public CompletableFuture<Validation<O, ValidationError>> submit(I in) {
+        Submission<I, O> submission = new Submission<>(in);
+        closing.readLock().lock();
+        try {
+            if (!running) {
+                return reject(submission, new RejectedExecutionException("Validation service is closed"));
+            }
+            if (overflowPolicy == OverflowPolicy.BLOCK) {
+                try {
+                    while (!queue.offer(submission, 10, TimeUnit.MILLISECONDS)) {
+                        if (!running) {
+                            return reject(submission, new RejectedExecutionException("Validation service is closed"));
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return reject(submission, e);
+                }
+            } else if (!queue.offer(submission)) {
+                return reject(submission, new RejectedExecutionException("Validation queue is full"));
+            }
+            submitted.increment();
+            return submission.future;
+        } finally {
+            closing.readLock().unlock();
+        }
+    }
+
+    private CompletableFuture<Validation<O, ValidationError>> reject(Submission<I, O> submission, Exception cause) {
+        rejected.increment();
+        submission.future.completeExceptionally(cause);
+        return submission.future;
+    }
+
+    private void dispatch() {
+        while (running || !queue.isEmpty()) {
+            try {
+                Submission<I, O> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                final List<Submission<I, O>> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + maxBatchDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) == 0) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            break;
+                        }
+                        Submission<I, O> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                    }
+                }
+                workers.execute(() -> validateBatch(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stats are updated before the futures are completed, so they account for every input whose result was seen.
+     * An exception thrown by the rule fails its input, an error (ie. {@link StackOverflowError}) fails the whole batch.
+     */
+    private void validateBatch(List<Submission<I, O>> batch) {
+        try {
+            long start = System.nanoTime();
+            List<Validation<O, ValidationError>> results = new ArrayList<>(batch.size());
+            for (Submission<I, O> submission : batch) {
+                try {
+                    results.add(rule.validate(submission.input));
+                } catch (Exception e) {
+                    results.add(Validation.failure(new ValidationError(e)));
+                }
+            }
+            long latency = System.nanoTime() - start;
+            batches.increment();
+            batchedInputs.add(batch.size());
+            batchLatencyNanos.add(latency);
+            maxBatchLatencyNanos.accumulateAndGet(latency, Math::max);
+            for (int i = 0; i < results.size(); i++) {
+                batch.get(i).future.complete(results.get(i));
+            }
+        } catch (Throwable t) {
+            for (Submission<I, O> submission : batch) {
+                submission.future.completeExceptionally(t);
+            }
+        }
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public Stats stats() {
+        return new Stats(queue.size(), submitted.sum(), rejected.sum(), batches.sum(), batchedInputs.sum(),
+            batchLatencyNanos.sum(), maxBatchLatencyNanos.get());
+    }
+
+    /**
+     * Stop accepting submissions, validate the ones already queued and wait (up to a minute) for the workers to finish.
+     * Every future returned by {@link #submit(Object)} completes. If the calling thread is interrupted, it still waits
+     * for the queue to be drained but not for the workers, and its interrupt status is restored.
+     */
+    @Override
+    public void close() {
+        running = false;
+        closing.writeLock().lock();
+        closing.writeLock().unlock();
+        boolean interrupted = false;
+        while (dispatcher.isAlive()) {
+            try {
+                dispatcher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        List<Submission<I, O>> late = new ArrayList<>();
+        queue.drainTo(late);
+        if (!late.isEmpty()) {
+            validateBatch(late);
+        }
+        workers.shutdown();
+        if (!interrupted) {
+            try {
+                workers.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class Stats {
+
+        public final int queueDepth;
+        public final long submitted;
+        public final long rejected;
+        public final long batches;
+        public final long validated;
+        public final long totalBatchLatencyNanos;
+        public final long maxBatchLatencyNanos;
+
+        private Stats(int queueDepth, long submitted, long rejected, long batches, long validated, long totalBatchLatencyNanos, long maxBatchLatencyNanos) {
+            this.queueDepth = queueDepth;
+            this.submitted = submitted;
+            this.rejected = rejected;
+            this.batches = batches;
+            this.validated = validated;
+            this.totalBatchLatencyNanos = totalBatchLatencyNanos;
+            this.maxBatchLatencyNanos = maxBatchLatencyNanos;
+        }
+
+        public double averageBatchSize() {
+            return batches == 0 ? 0.0 : (double) validated / batches;
+        }
+
+        public double averageBatchLatencyMillis() {
+            return batches == 0 ? 0.0 : totalBatchLatencyNanos / 1000000.0 / batches;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats(queueDepth=" + queueDepth + ", submitted=" + submitted + ", rejected=" + rejected
+                + ", batches=" + batches + ", averageBatchSize=" + averageBatchSize()
+                + ", averageBatchLatencyMillis=" + averageBatchLatencyMillis()
+                + ", maxBatchLatencyMillis=" + maxBatchLatencyNanos / 1000000.0 + ")";
+        }
+    }
+
+    public static class Builder<I, O> {
+
+        private final Rule<I, O> rule;
+        private int maxBatchSize = 64;
+        private Duration maxBatchDelay = Duration.ofMillis(1);
+        private int queueCapacity = 4096;
+        private int workers = Runtime.getRuntime().availableProcessors();
+        private OverflowPolicy overflowPolicy = OverflowPolicy.REJECT;
+
+        private Builder(Rule<I, O> rule) {
+            this.rule = rule;
+        }
+
+        public Builder<I, O> maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Builder<I, O> maxBatchDelay(Duration maxBatchDelay) {
+            this.maxBatchDelay = maxBatchDelay;
+            return this;
+        }
+
+        public Builder<I, O> queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public Builder<I, O> workers(int workers) {
+            this.workers = workers;
+            return this;
+        }
+
+        public Builder<I, O> overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        public ValidationService<I, O> build() {
+            return new ValidationService<>(this);
+        }
+    }
+
+    private static class Submission<I, O> {
+
+        private final I input;
+        private final CompletableFuture<Validation<O, ValidationError>> future = new CompletableFuture<>();
+
+        private Submission(I input) {
+            this.input = input;
+        }
+    }
+}
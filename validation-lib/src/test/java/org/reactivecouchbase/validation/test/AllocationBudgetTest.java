@@ -0,0 +1,106 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.reactivecouchbase.validation.IntRule;
+import org.reactivecouchbase.validation.Rule;
+import org.reactivecouchbase.validation.Rules;
+import org.reactivecouchbase.validation.Validation;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.reactivecouchbase.validation.test.Allocations.assertAllocatesAtMost;
+
+/**
+ * Bytes allocated per call by the main rules. Budgets are expressed relatively to the returned
+ * {@code ValidationSuccess} (16 bytes with compressed oops) so they hold whatever the object layout.
+ */
+public class AllocationBudgetTest {
+
+    private long success;
+
+    @Before
+    public void supported() {
+        Assume.assumeTrue(Allocations.isSupported());
+        final Integer value = 42;
+        success = Allocations.bytesPerCall(() -> Validation.success(value));
+    }
+
+    @Test
+    public void numbers() {
+        Rule<Integer, Integer> minI = Rules.minI(0);
+        Rule<Integer, Integer> betweenI = Rules.betweenI(0, 10);
+        Rule<Long, Long> minL = Rules.minL(0L);
+        Rule<Double, Double> maxD = Rules.maxD(10.0);
+        Rule<BigDecimal, BigDecimal> betweenBD = Rules.betweenBD(BigDecimal.ZERO, BigDecimal.TEN);
+        final Long five = 5L;
+        final Double half = 0.5;
+        final BigDecimal one = BigDecimal.ONE;
+        assertAllocatesAtMost(success, "minI success", () -> minI.validate(5));
+        assertAllocatesAtMost(success, "betweenI success", () -> betweenI.validate(5));
+        assertAllocatesAtMost(success, "minL success", () -> minL.validate(five));
+        assertAllocatesAtMost(success, "maxD success", () -> maxD.validate(half));
+        assertAllocatesAtMost(success, "betweenBD success", () -> betweenBD.validate(one));
+        assertAllocatesAtMost(8 * success, "minI failure", () -> minI.validate(-5));
+    }
+
+    @Test
+    public void combinedRulesOnlyAllocateTheResult() {
+        List<Rule<Integer, Integer>> rules = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            rules.add(Rules.minI(-i));
+        }
+        Rule<Integer, Integer> combined = Rules.combine(rules);
+        assertAllocatesAtMost(success, "10 combined rules success", () -> combined.validate(5));
+    }
+
+    @Test
+    public void primitiveRules() {
+        IntRule rule = IntRule.min(0).and(IntRule.max(10));
+        assertAllocatesAtMost(0, "IntRule test", () -> rule.test(5) ? Boolean.TRUE : Boolean.FALSE);
+        assertAllocatesAtMost(success, "IntRule success", () -> rule.validate(5));
+    }
+
+    @Test
+    public void strings() {
+        Rule<String, String> notEmptyStr = Rules.notEmptyStr();
+        Rule<String, String> minLength = Rules.minLength(2);
+        Rule<String, String> mandatory = Rules.mandatory();
+        Rule<String, Integer> isInteger = Rules.isInteger();
+        Rule<String, String> pattern = Rules.pattern("[a-z]+");
+        assertAllocatesAtMost(success, "notEmptyStr success", () -> notEmptyStr.validate("abc"));
+        assertAllocatesAtMost(success, "minLength success", () -> minLength.validate("abc"));
+        assertAllocatesAtMost(success, "mandatory success", () -> mandatory.validate("abc"));
+        assertAllocatesAtMost(2 * success, "isInteger success", () -> isInteger.validate("12345"));
+        assertAllocatesAtMost(20 * success, "pattern success", () -> pattern.validate("abc"));
+    }
+
+    @Test
+    public void formats() {
+        Rule<String, String> email = Rules.email();
+        Rule<String, String> url = Rules.url();
+        Rule<String, String> phone = Rules.phone();
+        assertAllocatesAtMost(success, "email success", () -> email.validate("john.doe@gmail.com"));
+        assertAllocatesAtMost(success, "url success", () -> url.validate("http://www.google.fr/"));
+        assertAllocatesAtMost(success, "phone success", () -> phone.validate("06 06 06 06 06"));
+    }
+
+    @Test
+    public void objectsAndCollections() {
+        Rule<Integer, Integer> notNull = Rules.notNull();
+        Rule<Integer, Integer> equalsTo = Rules.equalsTo(5);
+        Rule<List<Integer>, List<Integer>> notEmpty = Rules.notEmpty();
+        Rule<Iterable<Integer>, List<Integer>> list = Rules.list(Rules.minI(-1));
+        final List<Integer> ten = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ten.add(i);
+        }
+        assertAllocatesAtMost(success, "notNull success", () -> notNull.validate(5));
+        assertAllocatesAtMost(success, "equalsTo success", () -> equalsTo.validate(5));
+        assertAllocatesAtMost(success, "notEmpty success", () -> notEmpty.validate(ten));
+        assertAllocatesAtMost(25 * success, "list of 10 success", () -> list.validate(ten));
+    }
+}
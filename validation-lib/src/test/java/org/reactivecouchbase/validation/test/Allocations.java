@@ -0,0 +1,83 @@
+package org.reactivecouchbase.validation.test;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+/**
+ * Measures the bytes allocated by the current thread per call, through
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ *
+ * The call is warmed up first so the JIT compiled it, then measured in several rounds, keeping the lowest average so
+ * a one-off allocation (class loading, deoptimization, etc.) does not fail a budget.
+ */
+public final class Allocations {
+
+    private static final int WARMUP = 20000;
+    private static final int ITERATIONS = 10000;
+    private static final int ROUNDS = 5;
+
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    private static volatile Object sink;
+
+    private Allocations() {
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        try {
+            java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            if (threads instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+                if (sunThreads.isThreadAllocatedMemorySupported()) {
+                    sunThreads.setThreadAllocatedMemoryEnabled(true);
+                    return sunThreads;
+                }
+            }
+        } catch (Throwable e) {
+            // measurement is not available on this JVM
+        }
+        return null;
+    }
+
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * Bytes allocated per call, after warmup.
+     */
+    public static long bytesPerCall(Supplier<?> call) {
+        for (int i = 0; i < WARMUP; i++) {
+            consume(call.get());
+        }
+        long threadId = Thread.currentThread().getId();
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = THREADS.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < ITERATIONS; i++) {
+                consume(call.get());
+            }
+            long after = THREADS.getThreadAllocatedBytes(threadId);
+            best = Math.min(best, (after - before) / ITERATIONS);
+        }
+        return best;
+    }
+
+    /**
+     * @throws AssertionError if a call allocates more than the budget
+     */
+    public static void assertAllocatesAtMost(long budget, String description, Supplier<?> call) {
+        long bytes = bytesPerCall(call);
+        if (bytes > budget) {
+            throw new AssertionError(description + " allocates " + bytes + " bytes per call, budget is " + budget + " bytes");
+        }
+    }
+
+    /**
+     * Publishing the result makes it escape, so escape analysis cannot remove allocations and make budgets depend on
+     * inlining decisions.
+     */
+    private static void consume(Object value) {
+        sink = value;
+    }
+}
@@ -0,0 +1,139 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkValidatorTest {
+
+    private static Path write(String content) throws Exception {
+        Path file = Files.createTempFile("bulk-validator", ".txt");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static final BulkValidator.RecordParser<String> LINES = line -> StandardCharsets.UTF_8.decode(line).toString();
+
+    @Test
+    public void testLines() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 1; i <= 1000; i++) {
+            content.append(i % 100 == 0 ? "-" + i : i % 250 == 0 ? "" : String.valueOf(i)).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Path file = write(content.toString());
+        try {
+            for (int chunkSize : new int[]{3, 64, 1 << 20}) {
+                for (int parallelism : new int[]{1, 4}) {
+                    BulkValidator.Report report = BulkValidator.builder(LINES, Rules.isInteger().compose(Rules.minI(0)))
+                            .chunkSize(chunkSize)
+                            .parallelism(parallelism)
+                            .build()
+                            .validate(file);
+                    assertThat(report.records()).isEqualTo(998L);
+                    assertThat(report.failures()).isEqualTo(10L);
+                    assertThat(report.errors().size()).isEqualTo(10);
+                    assertThat(report.isTruncated()).isFalse();
+                    for (int i = 0; i < 10; i++) {
+                        assertThat(report.errors().get(i).line).isEqualTo((i + 1) * 100L);
+                        assertThat(report.errors().get(i).error.code).isEqualTo("error.min");
+                    }
+                    assertThat(report.bytes()).isEqualTo(Files.size(file));
+                    assertThat(report.megabytesPerSecond() > 0).isTrue();
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testCsv() throws Exception {
+        Path file = write("name,age,email\n"
+                + "John,42,john.doe@gmail.com\n"
+                + "\"Doe, Jane\",-1,jane.doe@gmail.com\n"
+                + "\n"
+                + "\"Bob \"\"the\"\" builder\",12,bob\n"
+                + ",7,a@b.fr");
+        try {
+            Rule<Map<String, Object>, ?> rule = RuleSpec.defaults().compile("name: mandatory; age: isInteger > minI(0); email: email");
+            BulkValidator.Report report = BulkValidator.csv(rule).chunkSize(16).parallelism(2).build().validate(file);
+            assertThat(report.records()).isEqualTo(4L);
+            assertThat(report.failures()).isEqualTo(3L);
+            assertThat(report.errors().toString())
+                    .isEqualTo("[line 3 / age: The specified value is smaller than 0, line 5 / email: The specified value is not an email address, "
+                            + "line 6 / name: Validated value is empty]");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testCsvMultiLineFields() throws Exception {
+        Path file = write("name,bio,age\n"
+                + "John,\"line one\nline two, with \"\"quotes\"\"\n\",42\n"
+                + "Jane,\"a\r\nb\",-1\n"
+                + "Bob,plain,-2\n"
+                + "\"Multi\nline name\",,-3");
+        try {
+            Rule<Map<String, Object>, ?> rule = RuleSpec.defaults().compile("name: mandatory; age: isInteger > minI(0)");
+            for (int chunkSize : new int[]{4, 16, 1 << 20}) {
+                for (int parallelism : new int[]{1, 3}) {
+                    BulkValidator.Report report = BulkValidator.csv(rule).chunkSize(chunkSize).parallelism(parallelism).build().validate(file);
+                    assertThat(report.records()).isEqualTo(4L);
+                    assertThat(report.failures()).isEqualTo(3L);
+                    assertThat(report.errors().size()).isEqualTo(3);
+                    assertThat(report.errors().get(0).line).isEqualTo(5L);
+                    assertThat(report.errors().get(1).line).isEqualTo(7L);
+                    assertThat(report.errors().get(2).line).isEqualTo(8L);
+                    assertThat(report.errors().get(2).error.code).isEqualTo("error.min");
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testMaxErrors() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            content.append("a\n");
+        }
+        Path file = write(content.toString());
+        try {
+            BulkValidator.Report report = BulkValidator.builder(LINES, Rules.isInteger()).chunkSize(32).maxErrors(20).build().validate(file);
+            assertThat(report.failures()).isEqualTo(500L);
+            assertThat(report.errors().size()).isEqualTo(20);
+            assertThat(report.errors().get(19).line).isEqualTo(20L);
+            assertThat(report.isTruncated()).isTrue();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testParseErrors() throws Exception {
+        Path file = write("1\n2\n3\n");
+        try {
+            BulkValidator.RecordParser<Integer> parser = line -> {
+                int value = line.get(line.position()) - '0';
+                if (value == 2) {
+                    throw new IllegalArgumentException("Unparseable record");
+                }
+                return value;
+            };
+            BulkValidator.Report report = BulkValidator.builder(parser, Rules.minI(0)).build().validate(file);
+            assertThat(report.failures()).isEqualTo(1L);
+            assertThat(report.errors().get(0).line).isEqualTo(2L);
+            assertThat(report.errors().get(0).error.message()).isEqualTo("Unparseable record");
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
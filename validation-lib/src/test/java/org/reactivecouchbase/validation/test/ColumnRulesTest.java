@@ -0,0 +1,101 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ColumnRulesTest {
+
+    private static String codesAt(List<ValidationError> errors, int row) {
+        List<String> codes = new ArrayList<>();
+        for (ValidationError error : errors) {
+            if (error.path.equals(Paths.Root.atIndex(row))) {
+                codes.add(error.code);
+            }
+        }
+        return codes.toString();
+    }
+
+    private static String codes(Validation<?, ValidationError> validation) {
+        List<String> codes = new ArrayList<>();
+        if (validation.isFailure()) {
+            for (ValidationError error : validation.getFailures()) {
+                codes.add(error.code);
+            }
+        }
+        return codes.toString();
+    }
+
+    @Test
+    public void doubleColumnMatchesBoxedRules() {
+        Random random = new Random(42);
+        double[] values = new double[1000];
+        for (int i = 0; i < values.length; i++) {
+            double dice = random.nextDouble();
+            values[i] = dice < 0.05 ? Double.NaN : dice < 0.1 ? -1.0 : dice < 0.15 ? 100.0 : random.nextDouble() * 100.0;
+        }
+        DoubleColumnRule column = DoubleColumnRule.builder().min(0.0).max(100.0).build();
+        Rule<Double, Double> boxed = Rules.betweenD(0.0, 100.0);
+        ColumnValidation<double[]> validation = column.check(values);
+        List<ValidationError> errors = validation.errors();
+        for (int i = 0; i < values.length; i++) {
+            Validation<Double, ValidationError> expected = boxed.validate(values[i]);
+            assertThat(validation.failures().get(i)).isEqualTo(expected.isFailure());
+            assertThat(codesAt(errors, i)).isEqualTo(codes(expected));
+        }
+        assertThat(validation.isSuccess()).isFalse();
+    }
+
+    @Test
+    public void longColumnMatchesBoxedRules() {
+        Random random = new Random(42);
+        long[] values = new long[777];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(120) - 10;
+        }
+        LongColumnRule column = LongColumnRule.builder().min(0L).max(100L).build();
+        Rule<Long, Long> boxed = Rules.betweenL(0L, 100L);
+        ColumnValidation<long[]> validation = column.check(values);
+        List<ValidationError> errors = validation.errors();
+        int failures = 0;
+        for (int i = 0; i < values.length; i++) {
+            Validation<Long, ValidationError> expected = boxed.validate(values[i]);
+            assertThat(validation.failures().get(i)).isEqualTo(expected.isFailure());
+            assertThat(codesAt(errors, i)).isEqualTo(codes(expected));
+            failures += expected.isFailure() ? 1 : 0;
+        }
+        assertThat(validation.failureCount()).isEqualTo(failures);
+        assertThat(errors).hasSize(failures);
+    }
+
+    @Test
+    public void nanAndNulls() {
+        double[] values = {1.0, Double.NaN, 0.0, Double.NaN, 2.0};
+        BitSet nulls = new BitSet();
+        nulls.set(2);
+        nulls.set(3);
+        nulls.set(70);
+        ColumnValidation<double[]> optional = DoubleColumnRule.builder().notNaN().build().check(values, nulls);
+        assertThat(optional.failures().toString()).isEqualTo("{1}");
+        assertThat(optional.errors().toString()).isEqualTo("[ValidationError @ ( / [1] => The specified value is not a number )]");
+        ColumnValidation<double[]> mandatory = DoubleColumnRule.builder().notNaN().notNull().build().check(values, nulls);
+        assertThat(mandatory.failures().toString()).isEqualTo("{1, 2, 3}");
+        assertThat(mandatory.errors().get(1).code).isEqualTo("error.required");
+        assertThat(mandatory.errors().get(1).path).isEqualTo(Paths.Root.atIndex(2));
+    }
+
+    @Test
+    public void validAndEmptyColumns() {
+        LongColumnRule rule = LongColumnRule.builder().min(0L).build();
+        assertThat(rule.validate(new long[]{1L, 2L, 3L}).isSuccess()).isTrue();
+        assertThat(rule.validate(new long[0]).isSuccess()).isTrue();
+        assertThat(rule.validate(new long[64]).getFailures()).hasSize(64);
+        assertThat(rule.validate(null).getFailures().get(0).code).isEqualTo("error.required");
+    }
+}
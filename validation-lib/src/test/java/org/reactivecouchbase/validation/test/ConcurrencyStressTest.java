@@ -0,0 +1,175 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every {@link Rules} factory, every {@link Rule} combinator and the {@link Paths} parser from many threads at
+ * once, on the same rule instances, and checks every outcome is the one computed on a single thread.
+ */
+public class ConcurrencyStressTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 200;
+
+    private static class Case {
+
+        private final String name;
+        private final Supplier<String> run;
+
+        private Case(String name, Supplier<String> run) {
+            this.name = name;
+            this.run = run;
+        }
+    }
+
+    private static String render(Validation<?, ValidationError> validation) {
+        if (validation.isSuccess()) {
+            return "success " + validation.getSuccess();
+        }
+        return "failure " + validation.getFailures();
+    }
+
+    @SafeVarargs
+    private static <I> void add(List<Case> cases, String name, Rule<I, ?> rule, I... inputs) {
+        for (final I input : inputs) {
+            cases.add(new Case(name + "(" + input + ")", () -> render(rule.validate(input))));
+        }
+    }
+
+    private static List<Case> cases() {
+        List<Case> cases = new ArrayList<>();
+        add(cases, "minI", Rules.minI(0), 5, -5, null);
+        add(cases, "maxI", Rules.maxI(10), 5, 50);
+        add(cases, "betweenI", Rules.betweenI(0, 10), 5, -5, 50);
+        add(cases, "minL", Rules.minL(0L), 5L, -5L);
+        add(cases, "maxL", Rules.maxL(10L), 5L, 50L);
+        add(cases, "betweenL", Rules.betweenL(0L, 10L), 5L, 50L);
+        add(cases, "minD", Rules.minD(0.0), 0.5, -0.5);
+        add(cases, "maxD", Rules.maxD(1.0), 0.5, 1.5);
+        add(cases, "betweenD", Rules.betweenD(0.0, 1.0), 0.5, 1.5);
+        add(cases, "minS", Rules.minS((short) 0), (short) 5, (short) -5);
+        add(cases, "maxS", Rules.maxS((short) 10), (short) 5, (short) 50);
+        add(cases, "betweenS", Rules.betweenS((short) 0, (short) 10), (short) 5, (short) 50);
+        add(cases, "minF", Rules.minF(0f), 0.5f, -0.5f);
+        add(cases, "maxF", Rules.maxF(1f), 0.5f, 1.5f);
+        add(cases, "betweenF", Rules.betweenF(0f, 1f), 0.5f, 1.5f);
+        add(cases, "minBD", Rules.minBD(BigDecimal.ZERO), BigDecimal.ONE, BigDecimal.ONE.negate());
+        add(cases, "maxBD", Rules.maxBD(BigDecimal.TEN), BigDecimal.ONE, BigDecimal.TEN.add(BigDecimal.ONE));
+        add(cases, "betweenBD", Rules.betweenBD(BigDecimal.ZERO, BigDecimal.TEN), BigDecimal.ONE, BigDecimal.TEN.add(BigDecimal.TEN));
+        add(cases, "minBI", Rules.minBI(BigInteger.ZERO), BigInteger.ONE, BigInteger.ONE.negate());
+        add(cases, "maxBI", Rules.maxBI(BigInteger.TEN), BigInteger.ONE, BigInteger.TEN.add(BigInteger.ONE));
+        add(cases, "betweenBI", Rules.betweenBI(BigInteger.ZERO, BigInteger.TEN), BigInteger.ONE, BigInteger.TEN.add(BigInteger.TEN));
+        add(cases, "greaterThan", Rules.greaterThan(0), 5, -5);
+        add(cases, "lesserThan", Rules.lesserThan(0), 5, -5);
+        add(cases, "email", Rules.email(), "john.doe@gmail.com", "john.doe");
+        add(cases, "emailRegex", Rules.emailRegex(), "john.doe@gmail.com", "john.doe");
+        add(cases, "url", Rules.url(), "http://www.google.fr", "www.google.fr");
+        add(cases, "urlRegex", Rules.urlRegex(), "http://www.google.fr", "www.google.fr");
+        add(cases, "phone", Rules.phone(), "0606060606", "06");
+        add(cases, "phoneRegex", Rules.phoneRegex(), "0606060606", "06");
+        add(cases, "pattern", Rules.pattern("[a-z]+"), "abc", "ABC");
+        add(cases, "pattern", Rules.pattern("Lower case only", "[a-z]+"), "abc", "ABC");
+        add(cases, "notNull", Rules.notNull(), "a", null);
+        add(cases, "isNull", Rules.isNull(), "a", null);
+        add(cases, "equalsTo", Rules.equalsTo("a"), "a", "b");
+        add(cases, "notEmptyStr", Rules.notEmptyStr(), "a", "");
+        add(cases, "emptyStr", Rules.emptyStr(), "a", "");
+        add(cases, "notEmpty", Rules.<List<Integer>>notEmpty(), Arrays.asList(1, 2), Collections.<Integer>emptyList());
+        add(cases, "isEmpty", Rules.<List<Integer>>isEmpty(), Arrays.asList(1, 2), Collections.<Integer>emptyList());
+        add(cases, "minLength", Rules.minLength(3), "abcd", "ab");
+        add(cases, "maxLength", Rules.maxLength(3), "abcd", "ab");
+        add(cases, "mandatory", Rules.mandatory(), "a", " ", null);
+        add(cases, "isInteger", Rules.isInteger(), "12", "1.2");
+        add(cases, "isBoolean", Rules.isBoolean(), "true", "yes");
+        add(cases, "isLong", Rules.isLong(), "12", "1.2");
+        add(cases, "isDouble", Rules.isDouble(), "1.2", "a");
+        add(cases, "isFLoat", Rules.isFLoat(), "1.2", "a");
+        add(cases, "date", Rules.date("yyyy-MM-dd HH:mm:ss"), "2016-01-01 10:00:00", "1999-12-31 23:59:59", "2042-06-15 12:30:45", "2016/01/01");
+        add(cases, "localDate", Rules.localDate("yyyy-MM-dd"), "2016-01-01", "1999-12-31", "2016/01/01");
+        add(cases, "localTime", Rules.localTime("HH:mm:ss"), "10:00:00", "23:59:59", "25:00:00");
+        add(cases, "localDateTime", Rules.localDateTime("yyyy-MM-dd HH:mm:ss"), "2016-01-01 10:00:00", "2016-01-01");
+        add(cases, "pass", Rules.pass(), "a");
+        add(cases, "fail", Rules.fail(), "a");
+        add(cases, "ignore", Rules.ignore(), "a");
+        add(cases, "list", Rules.list(Rules.minI(0)), Arrays.asList(1, 2, 3), Arrays.asList(1, -2, -3));
+        add(cases, "set", Rules.set(Rules.minI(0)), Arrays.asList(1, 2, 3), Arrays.asList(1, -2, -3));
+        add(cases, "combine", Rules.combine(Rules.minI(0), Rules.maxI(10), Rules.notNull()), 5, -5, 50);
+        add(cases, "pathRule", Rules.pathRule(Paths.Root.field("length"), String::length, Rules.minI(2)), "abc", "a");
+        add(cases, "compose", Rules.isInteger().compose(Rules.minI(0)), "5", "-5", "a");
+        add(cases, "composePath", Rules.isInteger().compose(Paths.Root.field("age"), Rules.minI(0)), "5", "-5");
+        add(cases, "flatMap", Rules.isInteger().flatMap(i -> Rules.<String>pass()), "5", "a");
+        add(cases, "orElse", Rules.isInteger().orElse(in -> Validation.success(0)), "5", "a");
+        add(cases, "combineRule", Rules.minI(0).combine(Rules.isNull()), 5, -5);
+        add(cases, "within", Rules.minI(2).within(String::length), "abc", "a");
+        add(cases, "innerValidation", Rules.minI(2).innerValidation(String::length), "abc", "a");
+        add(cases, "rewriteErrorMessages", Rules.minI(0).rewriteErrorMessages("Too small"), 5, -5);
+        add(cases, "rewriteErrors", Rules.minI(0).rewriteErrors(e -> ValidationError.of(e.code)), 5, -5);
+        add(cases, "repath", Rules.minI(0).repath("user.age"), 5, -5);
+        add(cases, "repathPath", Rules.minI(0).repath(Paths.Root.field("age")), 5, -5);
+        add(cases, "validateWith", Rule.<Integer>validateWith(Paths.Root.field("even"), "Odd", i -> i % 2 == 0), 2, 3);
+        add(cases, "from", Rule.<String, String>from((RuleLike<String, String>) Validation::success), "a");
+        add(cases, "fromFunction", Rule.<String>from(in -> Rules.minLength(2)), "abc", "a");
+        add(cases, "of", Rule.<String, Integer>of(in -> Validation.success(in.length())), "abc");
+        add(cases, "withDeadline", Rules.list(Rules.minI(0)).withDeadline(java.time.Duration.ofSeconds(10)), Arrays.asList(1, -2));
+        for (final String path : new String[]{"user.name", "users[2].name", "users[*].name", "[3]", "a.b.c.d", ""}) {
+            cases.add(new Case("parse(" + path + ")", () -> Paths.parse(path).toString()));
+        }
+        return cases;
+    }
+
+    @Test
+    public void concurrentResultsMatchSequentialResults() throws Exception {
+        final List<Case> cases = cases();
+        final List<String> expected = new ArrayList<>(cases.size());
+        for (Case c : cases) {
+            expected.add(c.run.get());
+        }
+        final CyclicBarrier start = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final Random random = new Random(t);
+                futures.add(executor.submit((Callable<List<String>>) () -> {
+                    List<String> mismatches = new ArrayList<>();
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        for (int n = 0; n < cases.size(); n++) {
+                            int i = random.nextInt(cases.size());
+                            String actual = cases.get(i).run.get();
+                            if (!actual.equals(expected.get(i))) {
+                                mismatches.add(cases.get(i).name + " returned " + actual + " instead of " + expected.get(i));
+                            }
+                        }
+                    }
+                    return mismatches;
+                }));
+            }
+            List<String> mismatches = new ArrayList<>();
+            for (Future<List<String>> future : futures) {
+                mismatches.addAll(future.get());
+            }
+            assertThat(new HashSet<>(mismatches).toString()).isEqualTo("[]");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeadlineTest {
+
+    private static String repeat(String s, int times) {
+        StringBuilder builder = new StringBuilder(s.length() * times);
+        for (int i = 0; i < times; i++) {
+            builder.append(s);
+        }
+        return builder.toString();
+    }
+
+    @Test
+    public void catastrophicBacktrackingIsAborted() {
+        Rule<String, String> rule = Rules.pattern("Not twenty a", "(.*a){20}", Duration.ofMillis(50));
+        long start = System.nanoTime();
+        Validation<String, ValidationError> validation = rule.validate(repeat("a", 28) + "!");
+        long elapsedMillis = (System.nanoTime() - start) / 1000000L;
+        assertThat(validation.isFailure()).isTrue();
+        assertThat(validation.getFailures()).hasSize(1);
+        assertThat(validation.getFailures().get(0).code).isEqualTo("error.timeout");
+        assertThat(elapsedMillis).isLessThan(50000L);
+        assertThat(Rules.pattern("Not a sequence of a ending with b", "a+b", Duration.ofMillis(50)).validate(repeat("a", 28) + "b").isSuccess()).isTrue();
+    }
+
+    @Test
+    public void largeInputsOnBuiltInPatterns() {
+        String local = repeat("a.", 50000);
+        assertThat(Rules.emailRegex().validate(local + "@").getFailures().get(0).code).isEqualTo("error.email");
+        assertThat(Rules.emailRegex().validate(local + "a@example.com").isSuccess()).isTrue();
+        assertThat(Rules.emailRegex().validate("john@" + repeat("mail.", 50000) + "com").isSuccess()).isTrue();
+        assertThat(Rules.emailRegex().validate(repeat("a", 100000) + "@example.com").isSuccess()).isTrue();
+        assertThat(Rules.urlRegex().validate("http://example.com/" + repeat("a-", 50000)).isSuccess()).isTrue();
+        assertThat(Rules.urlRegex().validate("http://" + repeat("a-", 50000) + "!").getFailures().get(0).code).isEqualTo("error.url");
+        assertThat(Rules.phoneRegex().validate(repeat("0", 50000)).getFailures().get(0).code).isEqualTo("error.phone");
+    }
+
+    @Test
+    public void tooLargeInputIsNotReportedAsInvalid() {
+        Validation<String, ValidationError> validation = Rules.pattern("(?:a|b)*").validate(repeat("ab", 500000));
+        assertThat(validation.getFailures()).hasSize(1);
+        assertThat(validation.getFailures().get(0).code).isEqualTo("error.tooLarge");
+        assertThat(Rules.pattern("(?:a|b)*").validate("abc").getFailures().get(0).code).isEqualTo("error.pattern");
+    }
+
+    @Test
+    public void invalidPatternFailsOnValidation() {
+        Rule<String, String> rule = Rules.pattern("Not a pattern", "[a-");
+        Validation<String, ValidationError> validation = rule.validate("a");
+        assertThat(validation.isFailure()).isTrue();
+        assertThat(validation.getFailures().get(0).message()).contains("near index 3");
+        assertThat(TextRules.pattern("[a-").validate("a").isFailure()).isTrue();
+    }
+
+    @Test
+    public void deadlineOfTheCallerApplies() {
+        Rule<String, String> rule = Rules.pattern("Not twenty a", "(.*a){20}", Duration.ofMinutes(1))
+            .withDeadline(Duration.ofMillis(50));
+        Validation<String, ValidationError> validation = rule.validate(repeat("a", 28) + "!");
+        assertThat(validation.isFailure()).isTrue();
+        assertThat(validation.getFailures().get(0).code).isEqualTo("error.timeout");
+    }
+
+    @Test
+    public void slowCollectionStopsAtTheDeadline() {
+        Rule<Integer, Integer> slow = Rule.of(in -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Validation.success(in);
+        });
+        List<Integer> ins = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ins.add(i);
+        }
+        long start = System.nanoTime();
+        Validation<List<Integer>, ValidationError> validation = Rules.list(slow).withDeadline(Duration.ofMillis(100)).validate(ins);
+        long elapsedMillis = (System.nanoTime() - start) / 1000000L;
+        assertThat(validation.isFailure()).isTrue();
+        assertThat(validation.getFailures()).hasSize(1);
+        assertThat(validation.getFailures().get(0).code).isEqualTo("error.timeout");
+        assertThat(validation.getFailures().get(0).message()).isEqualTo("Validation did not complete within 100 ms");
+        assertThat(elapsedMillis).isLessThan(1000L);
+    }
+
+    @Test
+    public void fastRulesAreUnaffected() {
+        Rule<String, String> rule = Rules.email().withDeadline(Duration.ofSeconds(1));
+        assertThat(rule.validate("john.doe@example.com").isSuccess()).isTrue();
+        assertThat(rule.validate("john.doe").getFailures().get(0).code).isEqualTo("error.email");
+        assertThat(Deadline.current()).isNull();
+    }
+}
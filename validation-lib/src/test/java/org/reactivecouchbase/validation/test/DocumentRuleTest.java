@@ -0,0 +1,119 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SuppressWarnings("unchecked")
+public class DocumentRuleTest {
+
+    private static Map<String, Object> doc(Object... kvs) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < kvs.length; i += 2) {
+            map.put((String) kvs[i], kvs[i + 1]);
+        }
+        return map;
+    }
+
+    private final DocumentRule rule = DocumentRule.builder()
+            .rule("name", Rules.mandatory())
+            .rule("address.city", Rules.mandatory())
+            .rule("address.city", Rules.maxLength(5))
+            .rule("tags[*]", Rules.notEmptyStr())
+            .rule(Paths.Root.field("scores").atIndex(0), Rules.minI(0))
+            .build();
+
+    @Test
+    public void testValidDocument() throws Exception {
+        Map<String, Object> in = doc(
+                "name", "John",
+                "address", doc("city", "Paris"),
+                "tags", Arrays.asList("a", "b"),
+                "scores", Arrays.asList(10, -1)
+        );
+        assertThat(rule.validate(in).isSuccess()).isTrue();
+        assertThat(rule.validate(in).get()).isSameAs(in);
+    }
+
+    @Test
+    public void testErrorPaths() throws Exception {
+        Map<String, Object> in = doc(
+                "address", doc("city", "Marseille"),
+                "tags", Arrays.asList("a", "", "c", ""),
+                "scores", Arrays.asList(-1)
+        );
+        List<ValidationError> errors = rule.validate(in).getFailures();
+        List<String> paths = new ArrayList<>();
+        for (ValidationError error : errors) {
+            paths.add(error.path.toString());
+        }
+        assertThat(paths).containsExactly("/ name", "/ address / city", "/ tags / [1]", "/ tags / [3]", "/ scores / [0]");
+    }
+
+    @Test
+    public void testMissingParent() throws Exception {
+        List<ValidationError> errors = rule.validate(doc("name", "John")).getFailures();
+        assertThat(errors.size()).isEqualTo(3);
+        assertThat(errors.get(0).path.toString()).isEqualTo("/ address / city");
+    }
+
+    @Test
+    public void testParseWildcard() throws Exception {
+        assertThat(Paths.parse("tags[*]")).isEqualTo(Paths.Root.field("tags").eachIndex());
+        assertThat(Paths.parse("users.[*].name").toString()).isEqualTo("/ users / [*] / name");
+    }
+
+    @Test
+    public void testRevalidateChangedPathsOnly() throws Exception {
+        final Map<String, Integer> runs = new HashMap<>();
+        DocumentRule counting = DocumentRule.builder()
+                .rule("name", counted(runs, "name", Rules.mandatory()))
+                .rule("address", counted(runs, "address", Rules.notNull()))
+                .rule("address.city", counted(runs, "city", Rules.mandatory()))
+                .rule("address.zip", counted(runs, "zip", Rules.mandatory()))
+                .rule("tags[*]", counted(runs, "tags", Rules.notEmptyStr()))
+                .build();
+        Map<String, Object> address = doc("city", "", "zip", "75000");
+        Map<String, Object> in = doc("name", "", "address", address, "tags", new ArrayList<>(Arrays.asList("a", "", "c")));
+        DocumentRule.Report report = counting.report(in);
+        assertThat(report.errors().size()).isEqualTo(3);
+        runs.clear();
+
+        address.put("city", "Paris");
+        report = counting.revalidate(in, report, Collections.singletonList(Paths.parse("address.city")));
+        assertThat(runs).isEqualTo(expected("address", 1, "city", 1));
+        assertThat(report.errors().size()).isEqualTo(2);
+        assertThat(report.errors().toString()).isEqualTo(counting.validate(in).getFailures().toString());
+        runs.clear();
+
+        ((List<Object>) in.get("tags")).set(1, "b");
+        report = counting.revalidate(in, report, Collections.singletonList(Paths.parse("tags[1]")));
+        assertThat(runs).isEqualTo(expected("tags", 1));
+        assertThat(report.errors().size()).isEqualTo(1);
+        assertThat(report.errors().get(0).path.toString()).isEqualTo("/ name");
+        runs.clear();
+
+        in.put("name", "John");
+        report = counting.revalidate(in, report, Collections.singletonList(Paths.Root.field("name")));
+        assertThat(report.isSuccess()).isTrue();
+        assertThat(report.validation().get()).isSameAs(in);
+    }
+
+    private static Map<String, Integer> expected(Object... kvs) {
+        Map<String, Integer> map = new HashMap<>();
+        for (int i = 0; i < kvs.length; i += 2) {
+            map.put((String) kvs[i], (Integer) kvs[i + 1]);
+        }
+        return map;
+    }
+
+    private static <I, O> Rule<I, O> counted(final Map<String, Integer> runs, final String name, final Rule<I, O> rule) {
+        return Rule.of(in -> {
+            runs.merge(name, 1, Integer::sum);
+            return rule.validate(in);
+        });
+    }
+}
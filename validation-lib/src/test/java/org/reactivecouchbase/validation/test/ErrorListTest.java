@@ -0,0 +1,62 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ErrorListTest {
+
+    @Test
+    public void testConcat() throws Exception {
+        ErrorList<String> list = ErrorList.concat(Arrays.asList("a", "b"), ErrorList.of("c")).concat(Arrays.asList("d"));
+        assertThat(list.size()).isEqualTo(4);
+        assertThat(list).containsExactly("a", "b", "c", "d");
+        assertThat(list.get(2)).isEqualTo("c");
+        assertThat(list).isEqualTo(Arrays.asList("a", "b", "c", "d"));
+        assertThat(ErrorList.<String>empty().concat(list)).isSameAs(list);
+        assertThat(list.concat(new ArrayList<>())).isSameAs(list);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutable() throws Exception {
+        ErrorList.of("a").concat(Arrays.asList("b")).add("c");
+    }
+
+    @Test
+    public void testCopiesWrappedList() throws Exception {
+        List<String> errors = new ArrayList<>(Arrays.asList("a", "b"));
+        ErrorList<String> list = ErrorList.of(errors);
+        errors.add("c");
+        errors.set(0, "z");
+        assertThat(list).containsExactly("a", "b");
+        List<ValidationError> failures = new ArrayList<>();
+        failures.add(ValidationError.of("first"));
+        Validation<Object, ValidationError> validation = Validation.failure(failures);
+        failures.clear();
+        assertThat(validation.getFailures().size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDeepNesting() throws Exception {
+        ErrorList<Integer> list = ErrorList.empty();
+        for (int i = 0; i < 100000; i++) {
+            list = ErrorList.of(i).concat(list);
+        }
+        assertThat(list.size()).isEqualTo(100000);
+        assertThat(list.get(0)).isEqualTo(99999);
+        assertThat(list.get(99999)).isEqualTo(0);
+    }
+
+    @Test
+    public void testNestedCombine() throws Exception {
+        Rule<Integer, Integer> rule = Rules.minI(10).combine(Rules.maxI(0)).combine(Rules.fail());
+        List<ValidationError> errors = Rules.list(rule).validate(Arrays.asList(5, 6, 7)).getFailures();
+        assertThat(errors.size()).isEqualTo(9);
+        assertThat(errors.get(8).message()).isEqualTo("Always fail");
+    }
+}
@@ -0,0 +1,117 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelRulesTest {
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private final AtomicInteger interrupted = new AtomicInteger();
+
+    /**
+     * Simulates a blocking lookup (ie. a key/value store) that knows only even ids.
+     */
+    private Rule<Integer, String> slowLookup(final long millis) {
+        return Rule.of(in -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            return lookup(in);
+        });
+    }
+
+    /**
+     * A lookup that only completes once meeting counted down to zero, ie. once all the lookups sharing it are running.
+     */
+    private static Rule<Integer, String> meetingLookup(final CountDownLatch meeting) {
+        return Rule.of(in -> {
+            meeting.countDown();
+            try {
+                if (!meeting.await(10, TimeUnit.SECONDS)) {
+                    return Validation.failure(ValidationError.of("Lookups did not run concurrently"));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return lookup(in);
+        });
+    }
+
+    private static Validation<String, ValidationError> lookup(int in) {
+        if (in % 2 == 0) {
+            return Validation.success("user-" + in);
+        }
+        return Validation.failure(ValidationError.of("Unknown user " + in));
+    }
+
+    private static List<Integer> ids(int count, int step) {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(i * step);
+        }
+        return ids;
+    }
+
+    @Test
+    public void testListRunsConcurrently() throws Exception {
+        Rule<Integer, String> lookup = meetingLookup(new CountDownLatch(20));
+        Validation<List<String>, ValidationError> validation = ParallelRules.list(lookup, 20, Duration.ofSeconds(30)).validate(ids(20, 2));
+        assertThat(validation.isSuccess()).isTrue();
+        assertThat(validation.get().get(3)).isEqualTo("user-6");
+    }
+
+    @Test
+    public void testConcurrencyLimit() throws Exception {
+        ParallelRules.list(slowLookup(20), 3, Duration.ofSeconds(5)).validate(ids(12, 2));
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    public void testErrorsKeepSequentialOrder() throws Exception {
+        List<Integer> ids = Arrays.asList(1, 2, 3, 4, 5);
+        List<ValidationError> parallel = ParallelRules.list(slowLookup(10), 5, Duration.ofSeconds(5)).validate(ids).getFailures();
+        List<ValidationError> sequential = Rules.list(slowLookup(0)).validate(ids).getFailures();
+        assertThat(parallel.toString()).isEqualTo(sequential.toString());
+    }
+
+    @Test
+    public void testDeadline() throws Exception {
+        List<ValidationError> errors = ParallelRules.list(slowLookup(2000), 2, Duration.ofMillis(100)).validate(ids(4, 2)).getFailures();
+        assertThat(errors.size()).isEqualTo(4);
+        assertThat(errors.get(0).code).isEqualTo("error.timeout");
+        // the two lookups started are interrupted rather than left sleeping after the rule returned
+        for (int i = 0; i < 500 && running.get() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertThat(running.get()).isEqualTo(0);
+        assertThat(interrupted.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testCombine() throws Exception {
+        Rule<Integer, Integer> check = meetingLookup(new CountDownLatch(3)).innerValidation(in -> in);
+        Rule<Integer, Integer> rule = ParallelRules.combine(4, Duration.ofSeconds(30), check, check, Rules.minI(10), check);
+        List<ValidationError> errors = rule.validate(3).getFailures();
+        assertThat(errors.size()).isEqualTo(4);
+        assertThat(errors.get(0).message()).isEqualTo("Unknown user 3");
+        assertThat(errors.get(2).message()).isEqualTo("The specified value is smaller than 10");
+        assertThat(rule.validate(12).isSuccess()).isTrue();
+    }
+}
@@ -51,4 +51,32 @@ public class PathsTest {
         assertThat(Paths.Root.field("users").atIndex(2).compose(Paths.Root.field("address").field("street")).toString()).isEqualTo("/ users / [2] / address / street");
     }
 
-} 
+    @Test
+    public void testInternedNodes() throws Exception {
+        Paths.PathNode declared = Paths.parse("user.name").path.get(0);
+        assertThat(Paths.Root.field("user").path.get(0)).isSameAs(declared);
+        assertThat(Paths.Root.atIndex(2).path.get(0)).isSameAs(Paths.parse("users[2]").path.get(1));
+        assertThat(Paths.index(5000)).isEqualTo(new Paths.IndexPathNode(5000));
+        assertThat(Paths.index(-1).toString()).isEqualTo("[-1]");
+        assertThat(Paths.key("name")).isEqualTo(new Paths.KeyPathNode("name"));
+    }
+
+    @Test
+    public void testDataKeysAreNotInterned() throws Exception {
+        Paths.PathNode first = Paths.Root.field("undeclared-key").path.get(0);
+        assertThat(first).isEqualTo(Paths.key("undeclared-key"));
+        assertThat(first == Paths.key("undeclared-key")).isFalse();
+    }
+
+    @Test
+    public void testCachedHashAndString() throws Exception {
+        Paths.Path path = Paths.Root.field("users").atIndex(2).field("name");
+        assertThat(path.toString()).isSameAs(path.toString());
+        assertThat(path.hashCode()).isEqualTo(path.hashCode());
+        assertThat(path.hashCode()).isEqualTo(path.path.hashCode());
+        assertThat(path).isEqualTo(Paths.parse("users[2].name"));
+        assertThat(path).isNotEqualTo(Paths.parse("users[3].name"));
+        assertThat(Paths.Root.toString()).isEqualTo("/");
+        assertThat(Paths.Root.hashCode()).isEqualTo(Paths.Root.path.hashCode());
+    }
+}
@@ -0,0 +1,57 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrimitiveRulesTest {
+
+    @Test
+    public void testIntRule() throws Exception {
+        IntRule rule = IntRule.min(0).and(IntRule.max(100));
+        assertThat(rule.test(50)).isTrue();
+        assertThat(rule.test(0)).isFalse();
+        assertThat(rule.test(100)).isFalse();
+        assertThat(rule.errors(-1).get(0).message()).isEqualTo("The specified value is smaller than 0");
+        assertThat(IntRule.greaterThan(3).test(4)).isTrue();
+        assertThat(IntRule.lesserThan(3).test(3)).isFalse();
+    }
+
+    @Test
+    public void testLongRule() throws Exception {
+        assertThat(LongRule.min(1L).test(10L)).isTrue();
+        assertThat(LongRule.max(1L).test(10L)).isFalse();
+        assertThat(LongRule.of("odd", v -> v % 2 == 0).errors(3L).get(0).message()).isEqualTo("odd");
+    }
+
+    @Test
+    public void testDoubleRule() throws Exception {
+        assertThat(DoubleRule.min(1.0).test(10.0)).isTrue();
+        assertThat(DoubleRule.max(1.0).test(10.0)).isFalse();
+        assertThat(DoubleRule.finite().test(Double.NaN)).isFalse();
+        assertThat(DoubleRule.finite().and(DoubleRule.min(0.0)).errors(Double.NEGATIVE_INFINITY).size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testSameErrorsAsBoxedRules() throws Exception {
+        assertThat(IntRule.min(1).validate(0).getFailures().get(0).message())
+                .isEqualTo(Rules.minI(1).validate(0).getFailures().get(0).message());
+        assertThat(LongRule.max(1L).validate(10L).getFailures().get(0).message())
+                .isEqualTo(Rules.maxL(1L).validate(10L).getFailures().get(0).message());
+        assertThat(DoubleRule.min(1.0).validate(0.0).getFailures().get(0).message())
+                .isEqualTo(Rules.minD(1.0).validate(0.0).getFailures().get(0).message());
+    }
+
+    @Test
+    public void testInteropWithBoxedRules() throws Exception {
+        Rule<Integer, Integer> rule = Rules.<Integer>notNull().combine(IntRule.min(18)).combine(IntRule.max(99));
+        assertThat(rule.validate(42).isSuccess()).isTrue();
+        assertThat(rule.validate(100).isFailure()).isTrue();
+        assertThat(IntRule.min(0).validate(null).isFailure()).isTrue();
+        List<ValidationError> errors = Rules.list(IntRule.min(0)).validate(java.util.Arrays.asList(1, -1, -2)).getFailures();
+        assertThat(errors.size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,103 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RuleRegistryTest {
+
+    @Test
+    public void testLazyBuild() throws Exception {
+        final AtomicInteger builds = new AtomicInteger();
+        RuleRegistry registry = new RuleRegistry().declare("email", () -> {
+            builds.incrementAndGet();
+            return Rules.email();
+        });
+        Rule<String, String> email = registry.rule("email");
+        assertThat(builds.get()).isEqualTo(0);
+        assertThat(registry.isBuilt("email")).isFalse();
+        assertThat(email.validate("john.doe@gmail.com").isSuccess()).isTrue();
+        assertThat(email.validate("john.doe").isFailure()).isTrue();
+        assertThat(builds.get()).isEqualTo(1);
+        assertThat(registry.isBuilt("email")).isTrue();
+        assertThat(registry.<String, String>rule("email")).isSameAs(email);
+    }
+
+    @Test
+    public void testWarmup() throws Exception {
+        final List<Integer> validated = new ArrayList<>();
+        RuleRegistry registry = new RuleRegistry()
+                .declare("age", () -> Rule.<Integer, Integer>of(in -> {
+                    validated.add(in);
+                    return Rules.minI(0).validate(in);
+                }), 1, -1)
+                .declare("name", Rules::mandatory);
+        assertThat(registry.names()).containsExactly("age", "name");
+        registry.warmup(3);
+        assertThat(registry.isBuilt("age")).isTrue();
+        assertThat(registry.isBuilt("name")).isTrue();
+        assertThat(validated.size()).isEqualTo(6);
+    }
+
+    @Test
+    public void testUndeclared() throws Exception {
+        RuleRegistry registry = new RuleRegistry().declare("name", Rules::mandatory);
+        assertThat(registry.isDeclared("name")).isTrue();
+        assertThat(registry.isDeclared("email")).isFalse();
+        try {
+            registry.rule("email");
+            throw new AssertionError("undeclared rule");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Rule email is not declared");
+        }
+        try {
+            registry.declare("name", Rules::notEmptyStr);
+            throw new AssertionError("declared twice");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage()).isEqualTo("Rule name is already declared");
+        }
+    }
+
+    @Test
+    public void testConcurrentFirstUse() throws Exception {
+        final AtomicInteger builds = new AtomicInteger();
+        final RuleRegistry registry = new RuleRegistry().declare("phone", () -> {
+            builds.incrementAndGet();
+            return Rules.phone();
+        });
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger successes = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (registry.<String, String>rule("phone").validate("0606060606").isSuccess()) {
+                    successes.incrementAndGet();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(successes.get()).isEqualTo(8);
+        assertThat(builds.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGlobal() throws Exception {
+        assertThat(RuleRegistry.global()).isSameAs(RuleRegistry.global());
+    }
+}
@@ -0,0 +1,129 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RuleSpecTest {
+
+    private static final String SPEC = "# users\n"
+            + "address.city: mandatory & maxLength(10)\n"
+            + "age: isInteger > minI(0); emails[*]: email\n";
+
+    private static Map<String, Object> user(String city, String age, String... emails) {
+        Map<String, Object> address = new HashMap<>();
+        address.put("city", city);
+        Map<String, Object> user = new HashMap<>();
+        user.put("address", address);
+        user.put("age", age);
+        user.put("emails", Arrays.asList(emails));
+        return user;
+    }
+
+    @Test
+    public void testCompile() throws Exception {
+        DocumentRule rule = RuleSpec.defaults().compile(SPEC);
+        assertThat(rule.validate(user("Paris", "42", "john.doe@gmail.com")).isSuccess()).isTrue();
+        List<ValidationError> errors = rule.validate(user("Saint-Remy-de-Provence", "-1", "john.doe@gmail.com", "john.doe")).getFailures();
+        assertThat(errors.size()).isEqualTo(3);
+        assertThat(errors.get(0).path.toString()).isEqualTo("/ address / city");
+        assertThat(errors.get(0).code).isEqualTo("error.maxLength");
+        assertThat(errors.get(1).path.toString()).isEqualTo("/ age");
+        assertThat(errors.get(1).code).isEqualTo("error.min");
+        assertThat(errors.get(2).path.toString()).isEqualTo("/ emails / [1]");
+        assertThat(errors.get(2).code).isEqualTo("error.email");
+    }
+
+    @Test
+    public void testOperators() throws Exception {
+        RuleSpec specs = RuleSpec.defaults();
+        assertThat(specs.compile("age: notNull & isInteger > minI(0)").validate(user("Paris", "-1")).getFailures().size()).isEqualTo(1);
+        assertThat(specs.compile("age: isInteger > (minI(0) & maxI(10))").validate(user("Paris", "42")).getFailures().size()).isEqualTo(1);
+        assertThat(specs.compile("age: isInteger > (minI(0) & maxI(10))").validate(user("Paris", "5")).isSuccess()).isTrue();
+        assertThat(specs.compile("address.city: pattern('Upper case first', \"[A-Z].*\")").validate(user("paris", "5")).getFailures().get(0).message())
+                .isEqualTo("Upper case first");
+        assertThat(specs.compile("address.city: notNull & (minLength(2) & maxLength(3))").validate(user("Paris", "5")).getFailures().size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        RuleSpec specs = RuleSpec.builder().cacheSize(1).build();
+        DocumentRule rule = specs.compile(SPEC);
+        assertThat(specs.compile(SPEC)).isSameAs(rule);
+        specs.compile("age: isInteger");
+        assertThat(specs.compile(SPEC)).isNotSameAs(rule);
+    }
+
+    @Test
+    public void testCustomRules() throws Exception {
+        RuleRegistry registry = new RuleRegistry().declare("zipCode", () -> Rules.pattern("Not a zip code", "[0-9]{5}"));
+        RuleSpec specs = RuleSpec.builder()
+                .rule("cityName", () -> Rules.mandatory().combine(Rules.maxLength(10)))
+                .registry(registry)
+                .build();
+        Map<String, Object> user = user("Paris", "42");
+        user.put("zip", "7500");
+        List<ValidationError> errors = specs.compile("address.city: cityName; zip: zipCode").validate(user).getFailures();
+        assertThat(errors.size()).isEqualTo(1);
+        assertThat(errors.get(0).message()).isEqualTo("Not a zip code");
+    }
+
+    @Test
+    public void testInvalidSpecs() throws Exception {
+        for (String spec : new String[]{"age", ": mandatory", "age: unknown", "age: minI", "age: minI('a')", "age: minI(1.5)",
+                "age: minI(1", "age: mandatory mandatory", "age: pattern('a", "age: &"}) {
+            try {
+                RuleSpec.defaults().compile(spec);
+                throw new AssertionError("compiled " + spec);
+            } catch (IllegalArgumentException e) {
+                assertThat(e.getMessage()).isNotNull();
+            }
+        }
+    }
+
+    @Test
+    public void testReload() throws Exception {
+        RuleSpec specs = RuleSpec.defaults();
+        final ReloadableRule<Map<String, Object>, Map<String, Object>> rule = specs.reloadable("age: isInteger > minI(0)");
+        assertThat(rule.validate(user("Paris", "42")).isSuccess()).isTrue();
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch reloaded = new CountDownLatch(1);
+        final ReloadableRule<Map<String, Object>, Map<String, Object>> slow = ReloadableRule.of(Rule.of(in -> {
+            started.countDown();
+            try {
+                reloaded.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Validation.success(in);
+        }));
+        final AtomicReference<Validation<?, ValidationError>> inFlight = new AtomicReference<>();
+        Thread thread = new Thread(() -> inFlight.set(slow.validate(user("Paris", "42"))));
+        thread.start();
+        started.await();
+        slow.reload(Rules.fail());
+        reloaded.countDown();
+        thread.join();
+        assertThat(inFlight.get().isSuccess()).isTrue();
+        assertThat(slow.validate(user("Paris", "42")).isFailure()).isTrue();
+
+        specs.reload(rule, "age: isInteger > minI(50)");
+        assertThat(rule.validate(user("Paris", "42")).isFailure()).isTrue();
+        try {
+            specs.reload(rule, "age: isInteger >");
+            throw new AssertionError("reloaded an invalid spec");
+        } catch (IllegalArgumentException e) {
+            assertThat(rule.validate(user("Paris", "42")).isFailure()).isTrue();
+            assertThat(rule.validate(user("Paris", "60")).isSuccess()).isTrue();
+        }
+    }
+}
@@ -156,8 +156,8 @@ public class RuleTest {
         assertThat(r.validate("123").isSuccess()).isTrue();
         for (List<ValidationError> errors : r.validate("123dsq").onFailure()) {
             for (ValidationError error : errors) {
-                assertThat(error.message).isNotNull();
-                assertThat(error.message).isEqualTo("blah");
+                assertThat(error.message()).isNotNull();
+                assertThat(error.message()).isEqualTo("blah");
             }
             return;
         }
@@ -180,8 +180,8 @@ public class RuleTest {
         assertThat(r.validate("123").isSuccess()).isTrue();
         for (List<ValidationError> errors : r.validate("123dsq").onFailure()) {
             for (ValidationError error : errors) {
-                assertThat(error.message).isNotNull();
-                assertThat(error.message).isEqualTo("blah");
+                assertThat(error.message()).isNotNull();
+                assertThat(error.message()).isEqualTo("blah");
                 assertThat(error.path).isNotNull();
                 assertThat(error.path.toString()).isEqualTo("/ blah");
             }
@@ -189,4 +189,20 @@ public class RuleTest {
         }
         Assertions.fail("Should not be there");
     }
+
+    @Test
+    public void testCombineFusesPredicates() throws Exception {
+        Rule<Integer, Integer> fused = Rules.minI(0).combine(Rules.maxI(100)).combine(Rules.<Integer>notNull());
+        Rule<Integer, Integer> unfused = Rule.from(Rules.minI(0)).combine(Rule.from(Rules.maxI(100))).combine(Rule.from(Rules.<Integer>notNull()));
+        for (Integer value : java.util.Arrays.asList(50, -1, 100, null)) {
+            Validation<Integer, ValidationError> expected = unfused.validate(value);
+            Validation<Integer, ValidationError> actual = fused.validate(value);
+            assertThat(actual.isSuccess()).isEqualTo(expected.isSuccess());
+            if (expected.isFailure()) {
+                assertThat(actual.getFailures().toString()).isEqualTo(expected.getFailures().toString());
+            }
+        }
+        assertThat(fused.validate(null).getFailures().size()).isEqualTo(3);
+        assertThat(fused.validate(-1).getFailures().get(0).message()).isEqualTo("The specified value is smaller than 0");
+    }
 }
@@ -1,12 +1,25 @@
 package org.reactivecouchbase.validation.test;
 
 import org.junit.Test;
+import org.reactivecouchbase.validation.Deadline;
+import org.reactivecouchbase.validation.ParallelRules;
+import org.reactivecouchbase.validation.Paths;
+import org.reactivecouchbase.validation.Rule;
 import org.reactivecouchbase.validation.Rules;
+import org.reactivecouchbase.validation.Validation;
+import org.reactivecouchbase.validation.ValidationError;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -201,5 +214,112 @@ public class RulesTest {
         assertThat(Rules.lesserThan(3).validate(3).isSuccess()).isFalse();
     }
 
-
-} 
+    @Test
+    public void testBetween() throws Exception {
+        assertThat(Rules.betweenI(0, 10).validate(5).isSuccess()).isTrue();
+        assertThat(Rules.betweenI(0, 10).validate(10).isSuccess()).isFalse();
+        assertThat(Rules.betweenL(0L, 10L).validate(-1L).isSuccess()).isFalse();
+        assertThat(Rules.betweenD(0.0, 10.0).validate(5.0).isSuccess()).isTrue();
+        assertThat(Rules.betweenBD(BigDecimal.ZERO, BigDecimal.TEN).validate(BigDecimal.TEN).isSuccess()).isFalse();
+        assertThat(Rules.betweenI(0, 10).validate(11).getFailures().get(0).message()).isEqualTo("The specified value is bigger than 10");
+    }
+
+    @Test
+    public void testMap() throws Exception {
+        Map<String, Integer> ages = new LinkedHashMap<>();
+        ages.put("john", 42);
+        ages.put("jane", -1);
+        ages.put("", 12);
+        ages.put("bob", 200);
+        Rule<Map<String, Integer>, Map<String, Integer>> rule = Rules.map(Rules.notEmptyStr(), Rules.betweenI(0, 150));
+        Validation<Map<String, Integer>, ValidationError> validation = rule.validate(ages);
+        assertThat(validation.isFailure()).isTrue();
+        assertThat(validation.getFailures()).hasSize(3);
+        assertThat(validation.getFailures().get(0).path).isEqualTo(Paths.Root.field("jane"));
+        assertThat(validation.getFailures().get(0).code).isEqualTo("error.min");
+        assertThat(validation.getFailures().get(1).path).isEqualTo(Paths.Root.field(""));
+        assertThat(validation.getFailures().get(2).path).isEqualTo(Paths.Root.field("bob"));
+        assertThat(Rules.mapFailFast(Rules.notEmptyStr(), Rules.betweenI(0, 150)).validate(ages).getFailures()).hasSize(1);
+        ages.remove("jane");
+        ages.remove("");
+        ages.remove("bob");
+        assertThat(rule.validate(ages).get().toString()).isEqualTo("{john=42}");
+        assertThat(rule.validate(null).getFailures().get(0).code).isEqualTo("error.required");
+    }
+
+    @Test
+    public void testMapFailFastSkipsValueOfInvalidKey() throws Exception {
+        Map<String, Integer> ages = new LinkedHashMap<>();
+        ages.put("john", 42);
+        ages.put("", 200);
+        ages.put("bob", -1);
+        final List<Integer> validatedValues = new ArrayList<>();
+        Rule<Integer, Integer> value = Rule.of(in -> {
+            validatedValues.add(in);
+            return Rules.betweenI(0, 150).validate(in);
+        });
+        Validation<Map<String, Integer>, ValidationError> validation = Rules.mapFailFast(Rules.notEmptyStr(), value).validate(ages);
+        assertThat(validation.getFailures()).hasSize(1);
+        assertThat(validation.getFailures().get(0).path).isEqualTo(Paths.Root.field(""));
+        assertThat(validatedValues).containsExactly(42);
+    }
+
+    @Test
+    public void testParallelMap() throws Exception {
+        Map<String, Integer> values = new LinkedHashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            values.put("key" + i, i % 100 == 0 ? -i : i);
+        }
+        Rule<Map<String, Integer>, Map<String, String>> sequential = Rules.map(Rules.<String>notNull(), Rules.minI(-1).compose(Rules.pass("ok")));
+        Rule<Map<String, Integer>, Map<String, String>> parallel = Rules.parallelMap(Rules.<String>notNull(), Rules.minI(-1).compose(Rules.pass("ok")), 1000);
+        assertThat(parallel.validate(values).getFailures().toString()).isEqualTo(sequential.validate(values).getFailures().toString());
+        values.replaceAll((k, v) -> Math.abs(v));
+        assertThat(parallel.validate(values).get()).isEqualTo(sequential.validate(values).get());
+        assertThat(new ArrayList<>(parallel.validate(values).get().keySet())).isEqualTo(new ArrayList<>(values.keySet()));
+    }
+
+    @Test
+    public void testParallelMapDeadline() throws Exception {
+        Map<String, Integer> values = new LinkedHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            values.put("key" + i, i);
+        }
+        Rule<Integer, Integer> underDeadline = Rule.validateWith("No deadline", (Integer in) -> Deadline.current() != null);
+        Rule<Map<String, Integer>, Map<String, Integer>> checked = Rules.parallelMap(Rules.<String>notNull(), underDeadline, 10);
+        assertThat(checked.withDeadline(Duration.ofSeconds(30)).validate(values).isSuccess()).isTrue();
+
+        Rule<Integer, Integer> slow = Rule.validateWith((Integer in) -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return true;
+        });
+        Rule<Map<String, Integer>, Map<String, Integer>> parallel = Rules.parallelMap(ParallelRules.defaultExecutor(), 2, Rules.<String>notNull(), slow, 10);
+        List<ValidationError> errors = parallel.withDeadline(Duration.ofMillis(100)).validate(values).getFailures();
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0).code).isEqualTo("error.timeout");
+    }
+
+    @Test
+    public void testCollectionErrorPaths() throws Exception {
+        Rule<Iterable<Integer>, List<Integer>> list = Rules.list(Rules.minI(0));
+        List<ValidationError> errors = list.validate(Arrays.asList(1, -1, 2, -2)).getFailures();
+        assertThat(errors).hasSize(2);
+        assertThat(errors.get(0).path).isEqualTo(Paths.Root.atIndex(1));
+        assertThat(errors.get(1).path).isEqualTo(Paths.Root.atIndex(3));
+        assertThat(errors.get(1).code).isEqualTo("error.min");
+
+        Rule<Iterable<Iterable<Integer>>, List<List<Integer>>> nested = Rules.list(list);
+        List<Iterable<Integer>> matrix = Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, -3));
+        List<ValidationError> nestedErrors = nested.validate(matrix).getFailures();
+        assertThat(nestedErrors.toString()).isEqualTo("[ValidationError @ ( / [1] / [1] => The specified value is smaller than 0 )]");
+
+        Rule<Iterable<Integer>, Set<Integer>> set = Rules.set(Rules.minI(0));
+        assertThat(set.validate(new LinkedHashSet<>(Arrays.asList(5, -5))).getFailures().get(0).path).isEqualTo(Paths.Root.atIndex(1));
+
+        List<ValidationError> repathed = list.repath(path -> Paths.Root.field("ages").compose(path)).validate(Arrays.asList(-1)).getFailures();
+        assertThat(repathed.get(0).path).isEqualTo(Paths.Root.field("ages").atIndex(0));
+    }
+}
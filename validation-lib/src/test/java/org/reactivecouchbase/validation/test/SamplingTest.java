@@ -0,0 +1,141 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SamplingTest {
+
+    @Test
+    public void testSampledRule() {
+        SampledRule<Integer> rule = Rules.minI(0).sampled(0.1);
+        int failing = 0;
+        for (int i = 0; i < 100000; i++) {
+            int value = i % 20 == 0 ? -1 : i;
+            Validation<Integer, ValidationError> validation = rule.validate(value);
+            if (validation.isFailure()) {
+                failing++;
+                assertThat(validation.getFailures().get(0).code).isEqualTo("error.min");
+            } else {
+                assertThat(validation.get()).isEqualTo(value);
+            }
+        }
+        SamplingStats.Estimate estimate = rule.stats().estimate();
+        assertThat(estimate.seen).isEqualTo(100000L);
+        assertThat(estimate.sampled).isBetween(9000L, 11000L);
+        assertThat(estimate.failed).isEqualTo((long) failing);
+        // random sample: a 95% interval misses one run in twenty, z = 4 almost never does
+        SamplingStats.Estimate wide = rule.stats().estimate(4.0);
+        assertThat(wide.lower <= 0.05 && 0.05 <= wide.upper).isTrue();
+        assertThat(estimate.estimatedFailures()).isBetween(4000.0, 6000.0);
+    }
+
+    @Test
+    public void testDeterministic() {
+        SamplingPolicy<Long> policy = SamplingPolicy.deterministic(0.25, Long::longValue);
+        int sampled = 0;
+        for (long i = 0; i < 100000; i++) {
+            boolean sample = policy.shouldSample(i);
+            assertThat(policy.shouldSample(i)).isEqualTo(sample);
+            if (sample) {
+                sampled++;
+            }
+        }
+        assertThat(sampled).isBetween(24000, 26000);
+        assertThat(SamplingPolicy.deterministic(0.0).shouldSample("a")).isFalse();
+        assertThat(SamplingPolicy.deterministic(1.0).shouldSample("a")).isTrue();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRate() {
+        SamplingPolicy.random(1.5);
+    }
+
+    @Test
+    public void testWilsonBounds() {
+        SampledRule<Integer> rule = Rules.minI(0).sampled(SamplingPolicy.always());
+        SamplingStats.Estimate empty = rule.stats().estimate();
+        assertThat(empty.lower).isEqualTo(0.0);
+        assertThat(empty.upper).isEqualTo(1.0);
+        for (int i = 0; i < 100; i++) {
+            rule.validate(i < 10 ? -1 : 1);
+        }
+        SamplingStats.Estimate estimate = rule.stats().estimate();
+        assertThat(estimate.rate).isEqualTo(0.1);
+        assertThat(estimate.lower).isBetween(0.055, 0.056);
+        assertThat(estimate.upper).isBetween(0.174, 0.175);
+        assertThat(rule.stats().estimate(2.576).upper > estimate.upper).isTrue();
+        rule.stats().reset();
+        assertThat(rule.stats().seen()).isEqualTo(0L);
+    }
+
+    @Test
+    public void testBudget() {
+        SamplingPolicy<Object> policy = SamplingPolicy.always().withBudget(100);
+        int sampled = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (policy.shouldSample(i)) {
+                sampled++;
+            }
+        }
+        assertThat(sampled).isBetween(100, 200);
+    }
+
+    @Test
+    public void testConcurrentBudget() throws Exception {
+        SamplingPolicy<Object> policy = SamplingPolicy.always().withBudget(1000);
+        AtomicLong sampled = new AtomicLong();
+        Thread[] threads = new Thread[4];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 200000; i++) {
+                    if (policy.shouldSample(i)) {
+                        sampled.incrementAndGet();
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long seconds = (System.nanoTime() - start) / 1_000_000_000L + 1;
+        assertThat(sampled.get()).isBetween(1000L, 1000L * (seconds + 1));
+    }
+
+    @Test
+    public void testValidator() {
+        Rule<Map<String, Object>, ?> mandatory = RuleSpec.defaults().compile("name: mandatory");
+        Rule<Map<String, Object>, ?> email = RuleSpec.defaults().compile("email: email");
+        SampledValidator<Map<String, Object>> validator = SampledValidator.<Map<String, Object>>builder()
+                .always(mandatory)
+                .sampled("email", email)
+                .policy(SamplingPolicy.<Map<String, Object>>deterministic(0.5, m -> ((Number) m.get("id")).longValue()))
+                .build();
+        int missingNames = 0;
+        for (int i = 0; i < 1000; i++) {
+            Map<String, Object> doc = new HashMap<>();
+            doc.put("id", i);
+            doc.put("name", i % 10 == 0 ? "" : "John");
+            doc.put("email", i % 4 == 0 ? "john" : "john.doe@gmail.com");
+            Validation<Map<String, Object>, ValidationError> validation = validator.validate(doc);
+            if (i % 10 == 0) {
+                missingNames++;
+                assertThat(validation.isFailure()).isTrue();
+                assertThat(validation.getFailures().get(0).code).isEqualTo("error.empty");
+            }
+        }
+        assertThat(missingNames).isEqualTo(100);
+        SamplingStats.Estimate estimate = validator.estimates().get("email");
+        assertThat(estimate.seen).isEqualTo(1000L);
+        assertThat(estimate.sampled).isBetween(400L, 600L);
+        assertThat(estimate.lower <= 0.25 && 0.25 <= estimate.upper).isTrue();
+        assertThat(validator.stats("email").sampled()).isEqualTo(estimate.sampled);
+    }
+}
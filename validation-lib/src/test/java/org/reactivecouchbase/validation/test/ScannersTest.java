@@ -0,0 +1,107 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.Rules;
+import org.reactivecouchbase.validation.Scanners;
+
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ScannersTest {
+
+    private static final Pattern EMAIL = Pattern.compile(Rules.EMAIL_PATTERN);
+    private static final Pattern URL = Pattern.compile(Rules.URL_PATTERN);
+    private static final Pattern PHONE = Pattern.compile(Rules.PHONE_PATTERN);
+
+    /**
+     * Compare the scanner and the regex on every string of at most {@code maxLength} chars of the alphabet.
+     */
+    private static void exhaustive(Pattern pattern, Predicate<String> scanner, String prefix, String alphabet, int maxLength) {
+        char[] chars = new char[maxLength];
+        for (int length = 0; length <= maxLength; length++) {
+            int[] digits = new int[length];
+            while (true) {
+                for (int i = 0; i < length; i++) {
+                    chars[i] = alphabet.charAt(digits[i]);
+                }
+                assertSame(pattern, scanner, prefix + new String(chars, 0, length));
+                int i = length - 1;
+                while (i >= 0 && ++digits[i] == alphabet.length()) {
+                    digits[i--] = 0;
+                }
+                if (i < 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compare the scanner and the regex on random concatenations of tokens, longer than the exhaustive inputs.
+     */
+    private static void random(Pattern pattern, Predicate<String> scanner, String[] tokens, int count) {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        for (int n = 0; n < count; n++) {
+            builder.setLength(0);
+            int size = random.nextInt(12);
+            for (int i = 0; i < size; i++) {
+                builder.append(tokens[random.nextInt(tokens.length)]);
+            }
+            assertSame(pattern, scanner, builder.toString());
+        }
+    }
+
+    private static void assertSame(Pattern pattern, Predicate<String> scanner, String input) {
+        boolean expected = pattern.matcher(input).matches();
+        if (scanner.test(input) != expected) {
+            throw new AssertionError("Scanner and regex disagree on '" + input + "', regex says " + expected);
+        }
+    }
+
+    @Test
+    public void emailMatchesTheRegex() {
+        exhaustive(EMAIL, Scanners::isEmail, "", "a1_.-@!Z ", 6);
+        random(EMAIL, Scanners::isEmail, new String[]{"john", "doe", ".", "@", "-", "_", "1", "a", "com", "+", "@", " ", "\u00e9", "example.", "x-"}, 200000);
+    }
+
+    @Test
+    public void urlMatchesTheRegex() {
+        for (String prefix : new String[]{"http://", "https://", "ftp://", "htp://", "http:/", ""}) {
+            exhaustive(URL, Scanners::isUrl, prefix, "ab1.-:/@", 6);
+        }
+        random(URL, Scanners::isUrl, new String[]{"http://", "https://", "ftp://", "www", ".", "google", "fr", "com", "a", ":", "8080", "/", "?", "q=1", "&", "-", "@", " ", "\\", "#", "\n", "%20"}, 200000);
+    }
+
+    @Test
+    public void phoneMatchesTheRegex() {
+        exhaustive(PHONE, Scanners::isPhone, "", "0+() -x.", 6);
+        exhaustive(PHONE, Scanners::isPhone, "06 06 06", "0 xet/", 5);
+        random(PHONE, Scanners::isPhone, new String[]{"+", "33", "1", "1234", " ", ".", "-", "/", "(", ")", "06", "060606", "x", "ext", "extension", "e", "12345", "a"}, 200000);
+    }
+
+    @Test
+    public void usualInputs() {
+        assertThat(Scanners.isEmail("john.doe@gmail.com")).isTrue();
+        assertThat(Scanners.isEmail("john..doe@gmail.com")).isFalse();
+        assertThat(Scanners.isEmail("john.doe@gmail")).isFalse();
+        assertThat(Scanners.isUrl("https://www.google.fr/search?q=validation&hl=fr")).isTrue();
+        assertThat(Scanners.isUrl("http://localhost:8080/")).isFalse();
+        assertThat(Scanners.isUrl("http://www.google.fr:8080/")).isTrue();
+        assertThat(Scanners.isPhone("+33 (01)06 06 06 06 ext 123")).isTrue();
+        assertThat(Scanners.isPhone("06 06 06 06 06 06 06 06 06")).isFalse();
+    }
+
+    @Test
+    public void rulesReportTheirOwnMessages() {
+        assertThat(Rules.email().validate("john").getFailures().get(0).message()).isEqualTo("The specified value is not an email address");
+        assertThat(Rules.url().validate("john").getFailures().get(0).message()).isEqualTo("The specified value is not a URL");
+        assertThat(Rules.phone().validate("john").getFailures().get(0).message()).isEqualTo("The specified value is not a phone number");
+        assertThat(Rules.urlRegex().validate("john").getFailures().get(0).code).isEqualTo("error.url");
+        assertThat(Rules.phoneRegex().validate("0506060606").isSuccess()).isTrue();
+        assertThat(Rules.emailRegex().validate("john.doe@gmail.com").isSuccess()).isTrue();
+    }
+}
@@ -0,0 +1,121 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SkipCacheRuleTest {
+
+    public static class Doc {
+        public final String id;
+        public final long cas;
+        public final int value;
+
+        public Doc(String id, long cas, int value) {
+            this.id = id;
+            this.cas = cas;
+            this.value = value;
+        }
+    }
+
+    private static Rule<Doc, Doc> counting(AtomicInteger runs) {
+        return new Rule<Doc, Doc>() {
+            @Override
+            public Validation<Doc, ValidationError> validate(Doc in) {
+                runs.incrementAndGet();
+                return in.value >= 0 ? Validation.success(in) : Validation.failure(ValidationError.withCode("error.min", "negative"));
+            }
+        };
+    }
+
+    @Test
+    public void testSkipUnchanged() {
+        AtomicInteger runs = new AtomicInteger();
+        SkipCacheRule<Doc> rule = counting(runs).skipUnchanged(d -> SkipCacheRule.hash(d.id), d -> d.cas, 1024);
+        Doc doc = new Doc("user::1", 1L, 1);
+        Doc bad = new Doc("user::2", 1L, -1);
+        for (int i = 0; i < 10; i++) {
+            assertThat(rule.validate(doc).isSuccess()).isTrue();
+            assertThat(rule.validate(bad).isFailure()).isTrue();
+        }
+        assertThat(runs.get()).isEqualTo(2);
+        assertThat(rule.hits()).isEqualTo(18L);
+        assertThat(rule.misses()).isEqualTo(2L);
+        assertThat(rule.size()).isEqualTo(2);
+
+        assertThat(rule.validate(new Doc("user::2", 2L, 5)).isSuccess()).isTrue();
+        assertThat(runs.get()).isEqualTo(3);
+        assertThat(rule.validate(new Doc("user::2", 2L, 5)).isSuccess()).isTrue();
+        assertThat(runs.get()).isEqualTo(3);
+        assertThat(rule.size()).isEqualTo(2);
+
+        rule.invalidate(SkipCacheRule.hash("user::1"));
+        assertThat(rule.size()).isEqualTo(1);
+        rule.validate(doc);
+        assertThat(runs.get()).isEqualTo(4);
+        rule.clear();
+        assertThat(rule.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testReturnsCurrentInput() {
+        AtomicInteger runs = new AtomicInteger();
+        SkipCacheRule<Doc> rule = counting(runs).skipUnchanged(d -> SkipCacheRule.hash(d.id), d -> d.cas, 16);
+        Doc first = new Doc("user::1", 1L, 1);
+        Doc second = new Doc("user::1", 1L, 1);
+        assertThat(rule.validate(first).get()).isSameAs(first);
+        assertThat(rule.validate(second).get()).isSameAs(second);
+        assertThat(runs.get()).isEqualTo(1);
+        Doc bad = new Doc("user::2", 1L, -1);
+        rule.validate(bad);
+        assertThat(rule.validate(new Doc("user::2", 1L, -1)).getFailures().get(0).code).isEqualTo("error.min");
+        assertThat(runs.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testBounded() {
+        AtomicInteger runs = new AtomicInteger();
+        SkipCacheRule<Doc> rule = counting(runs).skipUnchanged(d -> Long.parseLong(d.id), d -> d.cas, 100);
+        for (int i = 0; i < 10000; i++) {
+            rule.validate(new Doc(String.valueOf(i), 1L, i));
+        }
+        assertThat(rule.size()).isBetween(1, 128);
+        assertThat(runs.get()).isEqualTo(10000);
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 50; i++) {
+                rule.validate(new Doc(String.valueOf(i), 1L, i));
+            }
+        }
+        // a working set well under the capacity stays cached, up to a few probe overflows
+        assertThat(runs.get()).isBetween(10000, 10075);
+        assertThat(rule.hits()).isGreaterThan(75L);
+    }
+
+    @Test
+    public void testTimeoutsAreNotCached() {
+        AtomicInteger runs = new AtomicInteger();
+        Rule<Doc, Doc> slow = new Rule<Doc, Doc>() {
+            @Override
+            public Validation<Doc, ValidationError> validate(Doc in) {
+                runs.incrementAndGet();
+                Deadline.checkCurrent();
+                return Validation.success(in);
+            }
+        };
+        SkipCacheRule<Doc> rule = slow.withDeadline(Duration.ZERO).skipUnchanged(d -> SkipCacheRule.hash(d.id), d -> d.cas, 16);
+        Doc doc = new Doc("a", 1L, 1);
+        assertThat(rule.validate(doc).getFailures().get(0).code).isEqualTo("error.timeout");
+        assertThat(rule.validate(doc).getFailures().get(0).code).isEqualTo("error.timeout");
+        assertThat(runs.get()).isEqualTo(2);
+        assertThat(rule.size()).isEqualTo(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCapacity() {
+        Rules.<Doc>notNull().skipUnchanged(d -> 0L, d -> 0L, 0);
+    }
+}
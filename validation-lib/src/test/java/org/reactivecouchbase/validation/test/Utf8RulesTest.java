@@ -0,0 +1,142 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class Utf8RulesTest {
+
+    private static final String[] SAMPLES = {"", "a", "john.doe@gmail.com", "caf\u00e9", "\u20ac 12", "\ud83d\ude00 smile",
+            "   ", " \t ", "\u00e9\u00e9\u00e9\u00e9", "\ud83d\ude00\ud83d\ude00", "http://www.google.fr", "0606060606"};
+
+    private static final int[] ALPHABET = {'a', 'Z', '0', ' ', '.', '@', '-', 0xE9, 0x20AC, 0x1F600, 0x10FFFF};
+
+    private static ByteBuffer utf8(String s) {
+        return ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ByteBuffer direct(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 4);
+        buffer.put(new byte[]{'x', 'x'}).put(bytes).put(new byte[]{'y', 'y'});
+        buffer.position(2);
+        buffer.limit(2 + bytes.length);
+        return buffer;
+    }
+
+    private static String random(Random random, int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.appendCodePoint(ALPHABET[random.nextInt(ALPHABET.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static boolean isValid(byte[] bytes) {
+        try {
+            StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(bytes));
+            return true;
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    private static void assertSameChars(String expected, CharSequence actual) {
+        assertThat(actual.length()).isEqualTo(expected.length());
+        for (int i = 0; i < expected.length(); i++) {
+            assertThat(actual.charAt(i)).isEqualTo(expected.charAt(i));
+        }
+        for (int i = expected.length() - 1; i >= 0; i--) {
+            assertThat(actual.charAt(i)).isEqualTo(expected.charAt(i));
+        }
+        assertThat(actual.toString()).isEqualTo(expected);
+    }
+
+    @Test
+    public void testSequence() throws Exception {
+        Random random = new Random(42);
+        for (int n = 0; n < 500; n++) {
+            String s = n < SAMPLES.length ? SAMPLES[n] : random(random, random.nextInt(40));
+            for (ByteBuffer buffer : new ByteBuffer[]{utf8(s), direct(s)}) {
+                int position = buffer.position();
+                Utf8Sequence sequence = Utf8Sequence.of(buffer);
+                assertSameChars(s, sequence);
+                assertThat(sequence.codePointCount()).isEqualTo(s.codePointCount(0, s.length()));
+                assertThat(sequence.isAscii()).isEqualTo(s.chars().allMatch(c -> c < 0x80));
+                for (int i = 0; i < 10 && s.length() > 0; i++) {
+                    int index = random.nextInt(s.length());
+                    assertThat(sequence.charAt(index)).isEqualTo(s.charAt(index));
+                }
+                if (s.length() > 0) {
+                    int from = random.nextInt(s.length());
+                    int to = from + random.nextInt(s.length() - from + 1);
+                    assertSameChars(s.substring(from, to), sequence.subSequence(from, to));
+                }
+                assertThat(buffer.position()).isEqualTo(position);
+            }
+        }
+    }
+
+    @Test
+    public void testMalformed() throws Exception {
+        Random random = new Random(42);
+        int[] interesting = {0x00, 0x41, 0x7F, 0x80, 0x8F, 0x90, 0x9F, 0xA0, 0xBF, 0xC0, 0xC1, 0xC2, 0xDF, 0xE0, 0xED, 0xEF, 0xF0, 0xF4, 0xF5, 0xFF};
+        for (int n = 0; n < 20000; n++) {
+            byte[] bytes = new byte[1 + random.nextInt(12)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = (byte) interesting[random.nextInt(interesting.length)];
+            }
+            boolean valid = isValid(bytes);
+            assertThat(Utf8Rules.valid().validate(ByteBuffer.wrap(bytes)).isSuccess()).isEqualTo(valid);
+            if (valid) {
+                assertSameChars(new String(bytes, StandardCharsets.UTF_8), Utf8Sequence.of(ByteBuffer.wrap(bytes)));
+            }
+        }
+        Validation<ByteBuffer, ValidationError> validation = Utf8Rules.maxLength(10).validate(ByteBuffer.wrap(new byte[]{'a', (byte) 0xC3}));
+        assertThat(validation.isFailure()).isTrue();
+        assertThat(validation.getFailures().get(0).code).isEqualTo("error.utf8");
+    }
+
+    @Test
+    public void testRules() throws Exception {
+        Random random = new Random(42);
+        for (int n = 0; n < 500; n++) {
+            String s = n < SAMPLES.length ? SAMPLES[n] : random(random, random.nextInt(12));
+            int codePoints = s.codePointCount(0, s.length());
+            ByteBuffer buffer = direct(s);
+            assertThat(Utf8Rules.minLength(4).validate(buffer).isSuccess()).isEqualTo(codePoints >= 4);
+            assertThat(Utf8Rules.maxLength(4).validate(buffer).isSuccess()).isEqualTo(codePoints <= 4);
+            assertThat(TextRules.minLength(4).validate(new StringBuilder(s)).isSuccess()).isEqualTo(codePoints >= 4);
+            assertThat(TextRules.maxLength(4).validate(new StringBuilder(s)).isSuccess()).isEqualTo(codePoints <= 4);
+            assertThat(Utf8Rules.mandatory().validate(buffer).isSuccess()).isEqualTo(Rules.mandatory().validate(s).isSuccess());
+            assertThat(Utf8Rules.email().validate(buffer).isSuccess()).isEqualTo(Rules.emailRegex().validate(s).isSuccess());
+            assertThat(Utf8Rules.url().validate(buffer).isSuccess()).isEqualTo(Rules.urlRegex().validate(s).isSuccess());
+            assertThat(Utf8Rules.phone().validate(buffer).isSuccess()).isEqualTo(Rules.phoneRegex().validate(s).isSuccess());
+            assertThat(Utf8Rules.pattern(".*\u00e9.*").validate(buffer).isSuccess()).isEqualTo(Rules.pattern(".*\u00e9.*").validate(s).isSuccess());
+            assertThat(Utf8Rules.pattern("\\X{2,4}").validate(buffer).isSuccess()).isEqualTo(Rules.pattern("\\X{2,4}").validate(s).isSuccess());
+        }
+        assertThat(Utf8Rules.maxLength(2).validate(utf8("\ud83d\ude00\ud83d\ude00")).isSuccess()).isTrue();
+        assertThat(Rules.maxLength(2).validate("\ud83d\ude00\ud83d\ude00").isSuccess()).isFalse();
+        assertThat(Utf8Rules.mandatory().validate(null).getFailures().get(0).code).isEqualTo("error.required");
+        assertThat(Utf8Rules.mandatory().validate(utf8("  ")).getFailures().get(0).code).isEqualTo("error.empty");
+    }
+
+    @Test
+    public void testDecode() throws Exception {
+        ByteBuffer buffer = direct("caf\u00e9");
+        Rule<ByteBuffer, String> rule = Utf8Rules.chars(TextRules.mandatory().combine(TextRules.maxLength(4))).compose(Utf8Rules.decode());
+        assertThat(rule.validate(buffer).getSuccess()).isEqualTo("caf\u00e9");
+        assertThat(rule.validate(direct("caf\u00e9s")).isFailure()).isTrue();
+        assertThat(buffer.position()).isEqualTo(2);
+    }
+}
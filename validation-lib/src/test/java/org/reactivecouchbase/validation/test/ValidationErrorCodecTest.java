@@ -0,0 +1,67 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValidationErrorCodecTest {
+
+    private List<ValidationError> errors() {
+        List<ValidationError> errors = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            errors.addAll(Rules.minI(18).repath(Paths.Root.field("users").atIndex(i).field("age")).validate(12).getFailures());
+        }
+        errors.add(ValidationError.at(Paths.Root.field("tags").eachIndex(), "Plain message"));
+        errors.add(ValidationError.of(new IllegalStateException("From an exception")));
+        return errors;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        List<ValidationError> errors = errors();
+        List<ValidationError> decoded = ValidationErrorCodec.decode(ValidationErrorCodec.encode(errors));
+        assertThat(decoded.size()).isEqualTo(errors.size());
+        assertThat(decoded.toString()).isEqualTo(errors.toString());
+        assertThat(decoded.get(42).code).isEqualTo("error.min");
+        assertThat(decoded.get(42).path).isEqualTo(Paths.Root.field("users").atIndex(42).field("age"));
+        assertThat(decoded.get(100).code).isNull();
+    }
+
+    @Test
+    public void testIndexRange() throws Exception {
+        int[] indexes = {0, 1, -1, 1023, 1024, 1 << 29, (1 << 29) + 1, -(1 << 29), Integer.MAX_VALUE, Integer.MIN_VALUE};
+        List<ValidationError> errors = new ArrayList<>();
+        for (int index : indexes) {
+            errors.add(ValidationError.at(Paths.Root.field("items").atIndex(index).field("id"), "Bad item"));
+        }
+        List<ValidationError> decoded = ValidationErrorCodec.decode(ValidationErrorCodec.encode(errors));
+        for (int i = 0; i < indexes.length; i++) {
+            assertThat(decoded.get(i).path).isEqualTo(errors.get(i).path);
+            assertThat(decoded.get(i).path.toString()).isEqualTo("/ items / [" + indexes[i] + "] / id");
+        }
+    }
+
+    @Test
+    public void testCompact() throws Exception {
+        int textSize = errors().toString().length();
+        assertThat(ValidationErrorCodec.encode(errors()).remaining()).isLessThan(textSize / 5);
+    }
+
+    @Test
+    public void testEncodeInBuffer() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        buffer.putInt(42);
+        ValidationErrorCodec.encode(Arrays.asList(ValidationError.of("first"), ValidationError.of("second")), buffer);
+        buffer.flip();
+        assertThat(buffer.getInt()).isEqualTo(42);
+        List<ValidationError> decoded = ValidationErrorCodec.decode(buffer);
+        assertThat(decoded.get(1).message()).isEqualTo("second");
+        assertThat(ValidationErrorCodec.decode(ValidationErrorCodec.encode(new ArrayList<>())).isEmpty()).isTrue();
+    }
+}
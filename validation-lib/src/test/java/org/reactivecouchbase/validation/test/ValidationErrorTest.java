@@ -0,0 +1,82 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.After;
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.util.ListResourceBundle;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValidationErrorTest {
+
+    @After
+    public void after() throws Exception {
+        ValidationError.useMessageResolver(MessageResolver.DEFAULT);
+    }
+
+    @Test
+    public void testTemplate() throws Exception {
+        ValidationError error = ValidationError.at(Paths.Root.field("age"), "error.between", "Should be between {} and {}", 1, 10);
+        assertThat(error.code).isEqualTo("error.between");
+        assertThat(error.message()).isEqualTo("Should be between 1 and 10");
+        assertThat(error.toString()).isEqualTo("ValidationError @ ( / age => Should be between 1 and 10 )");
+        assertThat(ValidationError.of("Literal {} braces").message()).isEqualTo("Literal {} braces");
+    }
+
+    @Test
+    public void testLazyExceptionMessage() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        ValidationError error = ValidationError.of(new Exception() {
+            @Override
+            public String getMessage() {
+                calls.incrementAndGet();
+                return "boom";
+            }
+        });
+        assertThat(calls.get()).isEqualTo(0);
+        assertThat(error.message()).isEqualTo("boom");
+        assertThat(error.message()).isEqualTo("boom");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRepathKeepsCode() throws Exception {
+        ValidationError error = Rules.minI(18).repath("age").validate(12).getFailures().get(0);
+        assertThat(error.code).isEqualTo("error.min");
+        assertThat(error.path.toString()).isEqualTo("/ age");
+        assertThat(error.message()).isEqualTo("The specified value is smaller than 18");
+    }
+
+    @Test
+    public void testMessageResolver() throws Exception {
+        MessageResolver french = MessageResolver.fromBundle(new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return new Object[][]{{"error.min", "La valeur est plus petite que {}"}};
+            }
+        });
+        ValidationError error = Rules.minI(18).validate(12).getFailures().get(0);
+        assertThat(error.message(french)).isEqualTo("La valeur est plus petite que 18");
+        assertThat(Rules.maxI(18).validate(20).getFailures().get(0).message(french)).isEqualTo("The specified value is bigger than 18");
+        ValidationError.useMessageResolver(french);
+        assertThat(Rules.minI(18).validate(12).getFailures().get(0).message()).isEqualTo("La valeur est plus petite que 18");
+    }
+
+    @Test
+    public void testSharedErrorFollowsResolver() throws Exception {
+        MessageResolver french = MessageResolver.fromBundle(new ListResourceBundle() {
+            @Override
+            protected Object[][] getContents() {
+                return new Object[][]{{"error.positive", "La valeur doit etre positive"}};
+            }
+        });
+        Rule<Integer, Integer> positive = Rule.validateWith(ValidationError.withCode("error.positive", "Value must be positive"), i -> i > 0);
+        assertThat(positive.validate(-1).getFailures().get(0).message()).isEqualTo("Value must be positive");
+        ValidationError.useMessageResolver(french);
+        assertThat(positive.validate(-1).getFailures().get(0).message()).isEqualTo("La valeur doit etre positive");
+        ValidationError.useMessageResolver(MessageResolver.DEFAULT);
+        assertThat(positive.validate(-1).getFailures().get(0).message()).isEqualTo("Value must be positive");
+    }
+}
@@ -1,5 +1,6 @@
 package org.reactivecouchbase.validation.test;
 
+import org.assertj.core.api.Assertions;
 import org.junit.Before;
 import org.junit.Test;
 import org.reactivecouchbase.validation.*;
@@ -24,4 +25,33 @@ public class ValidationExceptionTest {
         assertThat(validationException.getFailure().getFailures().size()).isEqualTo(1);
     }
 
-} 
+    @Test
+    public void testLazyMessage() throws Exception {
+        ValidationFailure<?, ?> failure = (ValidationFailure<?, ?>) Validation.failure(ErrorList.of(ValidationError.at(Paths.Root, "Error1")).concat(ErrorList.of(ValidationError.at(Paths.Root.field("a"), "Error2"))));
+        assertThat(new ValidationException(failure).getMessage()).isEqualTo("ValidationError @ ( / => Error1 )\nValidationError @ ( / a => Error2 )");
+    }
+
+    @Test
+    public void testStackless() throws Exception {
+        assertThat(validationException.getStackTrace().length).isGreaterThan(0);
+        try {
+            Rules.minI(18).validate(12).orThrow(false);
+        } catch (ValidationException e) {
+            assertThat(e.getStackTrace().length).isEqualTo(0);
+            assertThat(e.getMessage()).isEqualTo("ValidationError @ ( / => The specified value is smaller than 18 )");
+            return;
+        }
+        Assertions.fail("Should not be there");
+    }
+
+    @Test
+    public void testStacklessGlobally() throws Exception {
+        ValidationException.captureStackTraces(false);
+        try {
+            assertThat(new ValidationException(validationException.getFailure()).getStackTrace().length).isEqualTo(0);
+        } finally {
+            ValidationException.captureStackTraces(true);
+        }
+        assertThat(new ValidationException(validationException.getFailure()).getStackTrace().length).isGreaterThan(0);
+    }
+}
@@ -0,0 +1,114 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValidationPlanTest {
+
+    public static class Booking {
+        public final String name;
+        public final LocalDate startDate;
+        public final LocalDate endDate;
+
+        public Booking(String name, LocalDate startDate, LocalDate endDate) {
+            this.name = name;
+            this.startDate = startDate;
+            this.endDate = endDate;
+        }
+    }
+
+    private static <T> Rule<T, T> slow(final Rule<T, T> rule) {
+        return Rule.of(in -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rule.validate(in);
+        });
+    }
+
+    private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+    private static final ValidationPlan<Booking> plan = ValidationPlan.<Booking>builder()
+            .step("name", slow(Rules.mandatory().repath("name").innerValidation((Booking b) -> b.name)))
+            .step("startDate", slow(Rules.<LocalDate>notNull().repath("startDate").innerValidation((Booking b) -> b.startDate)))
+            .step("endDate", Rules.<LocalDate>notNull().repath("endDate").innerValidation((Booking b) -> b.endDate))
+            .step("range", Arrays.asList("startDate", "endDate"), Rule.validateWith(Paths.Root.field("endDate"), "End date is before start date",
+                    (Booking b) -> !b.endDate.isBefore(b.startDate)))
+            .build()
+            .withPool(pool);
+
+    @AfterClass
+    public static void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testValid() throws Exception {
+        Booking booking = new Booking("John", LocalDate.of(2016, 1, 1), LocalDate.of(2016, 1, 3));
+        assertThat(plan.validate(booking).isSuccess()).isTrue();
+    }
+
+    @Test
+    public void testDependentRule() throws Exception {
+        List<ValidationError> errors = plan.validate(new Booking("", LocalDate.of(2016, 1, 3), LocalDate.of(2016, 1, 1))).getFailures();
+        assertThat(errors.size()).isEqualTo(2);
+        assertThat(errors.get(1).message()).isEqualTo("End date is before start date");
+    }
+
+    @Test
+    public void testSkipDependentsOfFailedSteps() throws Exception {
+        Booking booking = new Booking("John", null, LocalDate.of(2016, 1, 1));
+        List<ValidationError> errors = plan.validate(booking).getFailures();
+        assertThat(errors.size()).isEqualTo(1);
+        assertThat(errors.get(0).path.toString()).isEqualTo("/ startDate");
+    }
+
+    @Test
+    public void testSameErrorsAsSequential() throws Exception {
+        for (Booking booking : Arrays.asList(
+                new Booking(null, null, null),
+                new Booking("", LocalDate.of(2016, 1, 3), LocalDate.of(2016, 1, 1)),
+                new Booking(null, LocalDate.of(2016, 1, 3), null))) {
+            assertThat(plan.validate(booking).getFailures().toString()).isEqualTo(plan.validateSequentially(booking).getFailures().toString());
+        }
+    }
+
+    @Test
+    public void testIndependentBranchesRunConcurrently() throws Exception {
+        // each branch only passes if the other one started while it was running
+        CountDownLatch started = new CountDownLatch(2);
+        Rule<Booking, Booking> meet = Rule.validateWith("Branches did not run concurrently", (Booking b) -> {
+            started.countDown();
+            try {
+                return started.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        });
+        ValidationPlan<Booking> concurrent = ValidationPlan.<Booking>builder()
+                .step("name", meet)
+                .step("startDate", meet)
+                .step("range", Arrays.asList("name", "startDate"), Rules.<Booking>notNull())
+                .build()
+                .withPool(pool);
+        assertThat(concurrent.validate(new Booking("John", LocalDate.of(2016, 1, 1), LocalDate.of(2016, 1, 3))).isSuccess()).isTrue();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUndeclaredDependency() throws Exception {
+        ValidationPlan.<Booking>builder().step("endDate", "startDate", Rules.<Booking>notNull());
+    }
+}
@@ -0,0 +1,177 @@
+package org.reactivecouchbase.validation.test;
+
+import org.junit.Test;
+import org.reactivecouchbase.validation.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValidationServiceTest {
+
+    @Test
+    public void testBatching() throws Exception {
+        List<CompletableFuture<Validation<Integer, ValidationError>>> futures = new ArrayList<>();
+        ValidationService<Integer, Integer> service = ValidationService.builder(Rules.minI(0))
+                .maxBatchSize(50)
+                .maxBatchDelay(Duration.ofMillis(20))
+                .workers(2)
+                .build();
+        try {
+            for (int i = -100; i < 100; i++) {
+                futures.add(service.submit(i));
+            }
+            assertThat(futures.get(0).get(5, TimeUnit.SECONDS).isFailure()).isTrue();
+            assertThat(futures.get(150).get(5, TimeUnit.SECONDS).get()).isEqualTo(50);
+            for (CompletableFuture<Validation<Integer, ValidationError>> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            ValidationService.Stats stats = service.stats();
+            assertThat(stats.submitted).isEqualTo(200L);
+            assertThat(stats.validated).isEqualTo(200L);
+            assertThat(stats.batches).isLessThan(200L);
+            assertThat(stats.averageBatchSize()).isGreaterThan(1.0);
+        } finally {
+            service.close();
+        }
+    }
+
+    @Test
+    public void testRejectWhenFull() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        Rule<Integer, Integer> blocked = Rule.of(in -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Validation.success(in);
+        });
+        ValidationService<Integer, Integer> service = ValidationService.builder(blocked)
+                .maxBatchSize(1)
+                .queueCapacity(4)
+                .workers(1)
+                .overflowPolicy(ValidationService.OverflowPolicy.REJECT)
+                .build();
+        List<CompletableFuture<Validation<Integer, ValidationError>>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(service.submit(i));
+        }
+        assertThat(service.queueDepth()).isLessThanOrEqualTo(4);
+        assertThat(service.stats().rejected).isGreaterThan(0L);
+        release.countDown();
+        int rejected = 0;
+        for (CompletableFuture<Validation<Integer, ValidationError>> future : futures) {
+            try {
+                assertThat(future.get(5, TimeUnit.SECONDS).isSuccess()).isTrue();
+            } catch (ExecutionException e) {
+                assertThat(e.getCause() instanceof RejectedExecutionException).isTrue();
+                rejected++;
+            }
+        }
+        assertThat((long) rejected).isEqualTo(service.stats().rejected);
+        service.close();
+    }
+
+    @Test
+    public void testBlockWhenFull() throws Exception {
+        ValidationService<Integer, Integer> service = ValidationService.builder(Rules.minI(0))
+                .queueCapacity(2)
+                .workers(1)
+                .overflowPolicy(ValidationService.OverflowPolicy.BLOCK)
+                .build();
+        List<CompletableFuture<Validation<Integer, ValidationError>>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(service.submit(i));
+        }
+        service.close();
+        for (CompletableFuture<Validation<Integer, ValidationError>> future : futures) {
+            assertThat(future.isDone()).isTrue();
+        }
+        assertThat(service.stats().rejected).isEqualTo(0L);
+        assertThat(service.submit(1).isCompletedExceptionally()).isTrue();
+    }
+
+    @Test
+    public void testSubmitConcurrentlyWithClose() throws Exception {
+        for (ValidationService.OverflowPolicy policy : ValidationService.OverflowPolicy.values()) {
+            for (int round = 0; round < 10; round++) {
+                final ValidationService<Integer, Integer> service = ValidationService.builder(Rules.minI(0))
+                        .queueCapacity(8)
+                        .workers(1)
+                        .overflowPolicy(policy)
+                        .build();
+                final List<CompletableFuture<Validation<Integer, ValidationError>>> futures = new CopyOnWriteArrayList<>();
+                final AtomicBoolean stop = new AtomicBoolean();
+                List<Thread> submitters = new ArrayList<>();
+                for (int t = 0; t < 4; t++) {
+                    Thread submitter = new Thread(() -> {
+                        int i = 1;
+                        while (!stop.get()) {
+                            futures.add(service.submit(i++));
+                        }
+                    });
+                    submitter.start();
+                    submitters.add(submitter);
+                }
+                Thread.sleep(5);
+                service.close();
+                Thread.sleep(5);
+                stop.set(true);
+                for (Thread submitter : submitters) {
+                    submitter.join(5000);
+                    assertThat(submitter.isAlive()).isFalse();
+                }
+                for (CompletableFuture<Validation<Integer, ValidationError>> future : futures) {
+                    try {
+                        assertThat(future.get(5, TimeUnit.SECONDS).isSuccess()).isTrue();
+                    } catch (ExecutionException e) {
+                        assertThat(e.getCause() instanceof RejectedExecutionException).isTrue();
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testErrorFailsBatch() throws Exception {
+        Rule<Integer, Integer> rule = Rule.of(in -> {
+            if (in == 3) {
+                throw new AssertionError("boom");
+            }
+            return Validation.success(in);
+        });
+        ValidationService<Integer, Integer> service = ValidationService.builder(rule)
+                .maxBatchSize(10)
+                .maxBatchDelay(Duration.ofMillis(50))
+                .workers(1)
+                .build();
+        List<CompletableFuture<Validation<Integer, ValidationError>>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(service.submit(i));
+        }
+        try {
+            futures.get(3).get(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("Should have failed");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause() instanceof AssertionError).isTrue();
+        }
+        for (CompletableFuture<Validation<Integer, ValidationError>> future : futures) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertThat(e.getCause() instanceof AssertionError).isTrue();
+            }
+        }
+        service.close();
+    }
+}